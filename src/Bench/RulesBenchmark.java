@@ -0,0 +1,278 @@
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+public class RulesBenchmark {
+    private static final String[] CORPUS_NAMES = {"opening", "middlegame", "endgame"};
+    private static final String[] CORPUS_FENS = {
+            "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w - - 2 3",
+            "r2q1rk1/pp2bppp/2n1pn2/3p4/3P4/2NBPN2/PP3PPP/R2Q1RK1 w - - 0 10",
+            "8/5pk1/6p1/3R4/8/6PP/5PK1/2r5 w - - 0 40"
+    };
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 500000000L;
+
+    private static volatile long sink;
+
+    private abstract static class Benchmark {
+        final String name;
+
+        Benchmark(String name) {
+            this.name = name;
+        }
+
+        abstract long op();
+    }
+
+    private static List<Benchmark> createBenchmarks(final String corpus, final String fen, final Path gamesFile) {
+        final Board board = FenUtil.createBoard(fen);
+        final Colors side = board.getSideToMove();
+        final List<Position> occupied = new ArrayList<>();
+        for (ChessPair<Position, Piece> pair : board.getAllPieces()) {
+            if (pair.getValue().getColor() == side) occupied.add(pair.getKey());
+        }
+        final List<Position[]> quietMoves = new ArrayList<>();
+        for (Position from : occupied) {
+            for (Position to : board.getValidMovesForPiece(from)) {
+                if (board.getPieceAt(to) == null && to.getY() != 1 && to.getY() != 8) {
+                    quietMoves.add(new Position[]{from, to});
+                }
+            }
+        }
+        final List<Piece> capturable = new ArrayList<>();
+        for (ChessPair<Position, Piece> pair : board.getAllPieces()) {
+            if (pair.getValue().getColor() != side && pair.getValue().getType() != 'K') {
+                capturable.add(pair.getValue());
+            }
+        }
+        final Player player = new Player("Bench", side);
+
+        List<Benchmark> list = new ArrayList<>();
+        list.add(new Benchmark("Board.getPieceAt/" + corpus) {
+            long op() {
+                long found = 0;
+                for (int sq = 0; sq < 64; sq++) {
+                    if (board.getPieceAt(Position.of(sq)) != null) found++;
+                }
+                return found;
+            }
+        });
+        list.add(new Benchmark("Board.getValidMovesForPiece/" + corpus) {
+            int next = 0;
+
+            long op() {
+                Position from = occupied.get(next++ % occupied.size());
+                return board.getValidMovesForPiece(from).size();
+            }
+        });
+        list.add(new Benchmark("Board.isInCheck/" + corpus) {
+            long op() {
+                return board.isInCheck(side) ? 1 : 0;
+            }
+        });
+        list.add(new Benchmark("Board.isCheckmate/" + corpus) {
+            long op() {
+                return board.isCheckmate(side) ? 1 : 0;
+            }
+        });
+        list.add(new Benchmark("Board.isStalemate/" + corpus) {
+            long op() {
+                return board.isStalemate(side) ? 1 : 0;
+            }
+        });
+        if (!quietMoves.isEmpty()) {
+            list.add(new Benchmark("Board.movePiece/" + corpus) {
+                int next = 0;
+
+                long op() {
+                    Position[] move = quietMoves.get(next++ % quietMoves.size());
+                    try {
+                        board.movePiece(move[0], move[1], null, null);
+                    } catch (InvalidMoveException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    board.unmakeMove();
+                    return move[1].getIndex();
+                }
+            });
+        }
+        if (!capturable.isEmpty()) {
+            list.add(new Benchmark("Player.addCapturedPiece/" + corpus) {
+                int next = 0;
+
+                long op() {
+                    if (next % 15 == 0) player.clearCapturedPieces();
+                    player.addCapturedPiece(capturable.get(next++ % capturable.size()));
+                    return player.getPoints();
+                }
+            });
+        }
+        list.add(new Benchmark("JsonReaderUtil.readGamesAsMap/" + corpus) {
+            long op() {
+                try {
+                    return JsonReaderUtil.readGamesAsMap(gamesFile).size();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Path writeGamesFile(String fen) throws IOException {
+        Board board = FenUtil.createBoard(fen);
+        JSONArray games = new JSONArray();
+        for (int id = 1; id <= 10; id++) {
+            JSONObject game = new JSONObject();
+            game.put("id", id);
+            JSONArray players = new JSONArray();
+            JSONObject white = new JSONObject();
+            white.put("email", "bench@example.com");
+            white.put("color", "WHITE");
+            white.put("points", 0);
+            white.put("captured", new JSONArray());
+            JSONObject black = new JSONObject();
+            black.put("email", "Computer");
+            black.put("color", "BLACK");
+            black.put("points", 0);
+            black.put("captured", new JSONArray());
+            players.add(white);
+            players.add(black);
+            game.put("players", players);
+            game.put("currentPlayerColor", board.getSideToMove().toString());
+            JSONArray pieces = new JSONArray();
+            for (ChessPair<Position, Piece> pair : board.getAllPieces()) {
+                JSONObject piece = new JSONObject();
+                piece.put("type", String.valueOf(pair.getValue().getType()));
+                piece.put("color", pair.getValue().getColor().toString());
+                piece.put("position", pair.getKey().toString());
+                pieces.add(piece);
+            }
+            game.put("board", pieces);
+            JSONArray moves = new JSONArray();
+            for (int i = 0; i < 20; i++) {
+                JSONObject move = new JSONObject();
+                move.put("playerColor", i % 2 == 0 ? "WHITE" : "BLACK");
+                move.put("from", i % 2 == 0 ? "G1" : "G8");
+                move.put("to", i % 2 == 0 ? "F3" : "F6");
+                moves.add(move);
+            }
+            game.put("moves", moves);
+            games.add(game);
+        }
+        Path file = Files.createTempFile("bench-games", ".json");
+        file.toFile().deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(games.toJSONString());
+        }
+        return file;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static double[] measure(Benchmark benchmark) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runIteration(benchmark);
+        }
+        double totalOps = 0;
+        double totalBytes = 0;
+        double best = 0;
+        double worst = Double.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            double[] result = runIteration(benchmark);
+            totalOps += result[0];
+            totalBytes += result[1];
+            best = Math.max(best, result[0]);
+            worst = Math.min(worst, result[0]);
+        }
+        return new double[]{totalOps / MEASURE_ITERATIONS, totalBytes / MEASURE_ITERATIONS, (best - worst) / 2};
+    }
+
+    // Returns {operations per second, bytes allocated per operation}.
+    private static double[] runIteration(Benchmark benchmark) {
+        long ops = 0;
+        long acc = 0;
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long deadline = start + ITERATION_NANOS;
+        long now;
+        do {
+            for (int i = 0; i < 64; i++) {
+                acc += benchmark.op();
+            }
+            ops += 64;
+            now = System.nanoTime();
+        } while (now < deadline);
+        long bytesAfter = allocatedBytes();
+        sink += acc;
+        double bytesPerOp = bytesBefore < 0 ? -1 : (double) (bytesAfter - bytesBefore) / ops;
+        return new double[]{ops * 1e9 / (now - start), bytesPerOp};
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = null;
+        String saveFile = null;
+        String compareFile = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--save") && i + 1 < args.length) {
+                saveFile = args[++i];
+            } else if (args[i].equals("--compare") && i + 1 < args.length) {
+                compareFile = args[++i];
+            } else {
+                filter = args[i];
+            }
+        }
+        Properties baseline = new Properties();
+        if (compareFile != null) {
+            try (InputStream in = new FileInputStream(compareFile)) {
+                baseline.load(in);
+            }
+        }
+        Properties results = new Properties();
+        System.out.println(String.format("%-45s %16s %12s %12s %10s",
+                "Benchmark", "ops/s", "error", "B/op", "vs base"));
+        for (int c = 0; c < CORPUS_FENS.length; c++) {
+            Path gamesFile = writeGamesFile(CORPUS_FENS[c]);
+            for (Benchmark benchmark : createBenchmarks(CORPUS_NAMES[c], CORPUS_FENS[c], gamesFile)) {
+                if (filter != null && !benchmark.name.contains(filter)) continue;
+                double[] result = measure(benchmark);
+                results.setProperty(benchmark.name, String.valueOf(result[0]));
+                String change = "";
+                String base = baseline.getProperty(benchmark.name);
+                if (base != null) {
+                    change = String.format("%+.1f%%", (result[0] / Double.parseDouble(base) - 1) * 100);
+                }
+                System.out.println(String.format("%-45s %16.0f %12.0f %12s %10s",
+                        benchmark.name, result[0], result[2],
+                        result[1] < 0 ? "n/a" : String.format("%.1f", result[1]), change));
+            }
+        }
+        if (saveFile != null) {
+            try (OutputStream out = new FileOutputStream(saveFile)) {
+                results.store(out, "RulesBenchmark ops/s");
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+// Zero nodes means no node limit; zero threads means all cores but one.
+public enum Difficulty {
+    BEGINNER("Beginner", 2, 2000, 100, 1, false),
+    CASUAL("Casual", 4, 20000, 250, 1, false),
+    CLUB("Club", SearchLimits.MAX_DEPTH, 0, 1000, 0, true),
+    MASTER("Master", SearchLimits.MAX_DEPTH, 0, 3000, 0, true);
+
+    public static final Difficulty DEFAULT = CLUB;
+
+    private final String label;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+    private final int threads;
+    private final boolean ponders;
+
+    Difficulty(String label, int maxDepth, long maxNodes, long maxTimeMillis, int threads, boolean ponders) {
+        this.label = label;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+        this.threads = threads;
+        this.ponders = ponders;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public SearchLimits getLimits() {
+        int searchThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new SearchLimits(maxDepth, maxTimeMillis, maxNodes, searchThreads);
+    }
+
+    public boolean ponders() {
+        return ponders;
+    }
+
+    public static Difficulty fromName(String name) {
+        if (name != null) {
+            for (Difficulty difficulty : values()) {
+                if (difficulty.name().equalsIgnoreCase(name)) return difficulty;
+            }
+        }
+        return DEFAULT;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,19 @@
+public final class Evaluator {
+    private Evaluator() {
+    }
+
+    public static int evaluate(Bitboards board) {
+        MaterialLedger ledger = board.getLedger();
+        boolean endgame = ledger.isEndgame();
+        int score = ledger.getMaterial(Bitboards.WHITE) + ledger.getPlacement(Bitboards.WHITE)
+                + kingValue(board, Bitboards.WHITE, endgame)
+                - ledger.getMaterial(Bitboards.BLACK) - ledger.getPlacement(Bitboards.BLACK)
+                - kingValue(board, Bitboards.BLACK, endgame);
+        return board.getSideToMove() == Bitboards.WHITE ? score : -score;
+    }
+
+    private static int kingValue(Bitboards board, int color, boolean endgame) {
+        int king = board.kingSquare(color);
+        return king < 0 ? 0 : MaterialLedger.kingSquareValue(color, king, endgame);
+    }
+}
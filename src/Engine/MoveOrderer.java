@@ -0,0 +1,106 @@
+public class MoveOrderer {
+    private static final int HASH_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 24;
+    private static final int FIRST_KILLER_SCORE = 1 << 22;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final int[][] scores;
+    private final int[][] killers;
+    private final int[][][] history = new int[2][64][64];
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    public MoveOrderer(int maxPly) {
+        this.scores = new int[maxPly][MoveBuffer.MAX_MOVES];
+        this.killers = new int[maxPly][2];
+    }
+
+    public void newSearch() {
+        for (int ply = 0; ply < killers.length; ply++) {
+            killers[ply][0] = MoveEncoding.NONE;
+            killers[ply][1] = MoveEncoding.NONE;
+        }
+        ageHistory();
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+    }
+
+    public void score(Bitboards board, int[] moves, int count, int hashMove, int ply) {
+        int[] plyScores = scores[ply];
+        int[] plyKillers = killers[ply];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int score;
+            if (hashMove != MoveEncoding.NONE && MoveEncoding.sameMove(move, hashMove)) {
+                score = HASH_SCORE;
+            } else if (MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) {
+                int victim = MoveEncoding.isCapture(move) ? MoveEncoding.captured(move) + 1 : 0;
+                int promotion = MoveEncoding.isPromotion(move) ? MoveEncoding.promotion(move) + 1 : 0;
+                int attacker = board.typeAt(MoveEncoding.from(move));
+                score = CAPTURE_SCORE + (victim + promotion) * 16 - attacker;
+            } else if (MoveEncoding.sameMove(move, plyKillers[0])) {
+                score = FIRST_KILLER_SCORE;
+            } else if (MoveEncoding.sameMove(move, plyKillers[1])) {
+                score = SECOND_KILLER_SCORE;
+            } else {
+                score = history[MoveEncoding.moverColor(move)][MoveEncoding.from(move)][MoveEncoding.to(move)];
+            }
+            plyScores[i] = score;
+        }
+    }
+
+    public int next(int[] moves, int count, int index, int ply) {
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (plyScores[i] > plyScores[best]) best = i;
+        }
+        if (best != index) {
+            int move = moves[best];
+            moves[best] = moves[index];
+            moves[index] = move;
+            int score = plyScores[best];
+            plyScores[best] = plyScores[index];
+            plyScores[index] = score;
+        }
+        return moves[index];
+    }
+
+    public void recordCutoff(int move, int ply, int depth, int index) {
+        cutoffs++;
+        if (index == 0) firstMoveCutoffs++;
+        if (MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) return;
+        int[] plyKillers = killers[ply];
+        if (!MoveEncoding.sameMove(move, plyKillers[0])) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        int[] fromHistory = history[MoveEncoding.moverColor(move)][MoveEncoding.from(move)];
+        int to = MoveEncoding.to(move);
+        fromHistory[to] += depth * depth;
+        if (fromHistory[to] >= HISTORY_LIMIT) ageHistory();
+    }
+
+    private void ageHistory() {
+        for (int color = 0; color < 2; color++) {
+            for (int from = 0; from < 64; from++) {
+                for (int to = 0; to < 64; to++) {
+                    history[color][from][to] >>= 1;
+                }
+            }
+        }
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+}
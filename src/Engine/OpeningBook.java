@@ -0,0 +1,114 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+// File: 16-byte header, then 16-byte entries (key, move, weight) sorted by key.
+public class OpeningBook {
+    public static final int MAGIC = 0x434D424B;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int ENTRY_BYTES = 16;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+
+    private OpeningBook(MappedByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            int count = buffer.getInt(8);
+            if ((long) HEADER_BYTES + (long) count * ENTRY_BYTES > channel.size()) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            return new OpeningBook(buffer, count);
+        }
+    }
+
+    public static OpeningBook openIfExists(Path path) {
+        if (path == null || !Files.exists(path)) return null;
+        try {
+            return open(path);
+        } catch (IOException e) {
+            System.err.println("Ignoring opening book " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(long key) {
+        return firstIndex(key) >= 0;
+    }
+
+    public int probe(long key, Random random) {
+        int first = firstIndex(key);
+        if (first < 0) return MoveEncoding.NONE;
+        long total = 0;
+        int last = first;
+        while (last < count && keyAt(last) == key) {
+            total += weightAt(last);
+            last++;
+        }
+        if (total <= 0) return moveAt(first);
+        long pick = (long) (random.nextDouble() * total);
+        for (int i = first; i < last; i++) {
+            pick -= weightAt(i);
+            if (pick < 0) return moveAt(i);
+        }
+        return moveAt(last - 1);
+    }
+
+    public int probeBest(long key) {
+        int first = firstIndex(key);
+        if (first < 0) return MoveEncoding.NONE;
+        int best = first;
+        for (int i = first + 1; i < count && keyAt(i) == key; i++) {
+            if (weightAt(i) > weightAt(best)) best = i;
+        }
+        return moveAt(best);
+    }
+
+    private int firstIndex(long key) {
+        int low = 0;
+        int high = count - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = keyAt(mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else {
+                if (midKey == key) found = mid;
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private long keyAt(int index) {
+        return buffer.getLong(HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private int moveAt(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 8);
+    }
+
+    private int weightAt(int index) {
+        return buffer.getInt(HEADER_BYTES + index * ENTRY_BYTES + 12);
+    }
+}
@@ -0,0 +1,108 @@
+import org.json.simple.parser.ParseException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+public class OpeningBookBuilder {
+    public static final int DEFAULT_MAX_PLY = 16;
+
+    private final int maxPly;
+    private final List<long[]> seen = new ArrayList<>();
+    private int gamesAdded;
+
+    public OpeningBookBuilder(int maxPly) {
+        this.maxPly = maxPly;
+    }
+
+    public void addGame(Game game) {
+        Board board = FenUtil.createBoard(FenUtil.START_POSITION);
+        int[] legal = new int[MoveBuffer.MAX_MOVES];
+        int plies = Math.min(maxPly, game.getHistorySize());
+        for (int ply = 0; ply < plies; ply++) {
+            int played = game.getEncodedMove(ply);
+            int count = board.generateLegalMoves(legal, 0);
+            int move = MoveEncoding.NONE;
+            for (int i = 0; i < count; i++) {
+                if (MoveEncoding.from(legal[i]) == MoveEncoding.from(played)
+                        && MoveEncoding.to(legal[i]) == MoveEncoding.to(played)
+                        && (!MoveEncoding.isPromotion(legal[i]) || MoveEncoding.promotion(legal[i]) == promotionOf(played))) {
+                    move = legal[i];
+                    break;
+                }
+            }
+            if (move == MoveEncoding.NONE) break;
+            seen.add(new long[]{board.getZobristKey(), move});
+            board.makeMove(move);
+        }
+        gamesAdded++;
+    }
+
+    private static int promotionOf(int played) {
+        return MoveEncoding.isPromotion(played) ? MoveEncoding.promotion(played) : Bitboards.QUEEN;
+    }
+
+    public int getGamesAdded() {
+        return gamesAdded;
+    }
+
+    public int write(Path path) throws IOException {
+        Collections.sort(seen, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] a, long[] b) {
+                if (a[0] != b[0]) return a[0] < b[0] ? -1 : 1;
+                return Long.compare(a[1], b[1]);
+            }
+        });
+        List<long[]> entries = new ArrayList<>();
+        for (long[] pair : seen) {
+            long[] last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            if (last != null && last[0] == pair[0] && last[1] == pair[1]) {
+                last[2] = Math.min(Integer.MAX_VALUE, last[2] + 1);
+            } else {
+                entries.add(new long[]{pair[0], pair[1], 1});
+            }
+        }
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeInt(entries.size());
+            out.writeInt(0);
+            for (long[] entry : entries) {
+                out.writeLong(entry[0]);
+                out.writeInt((int) entry[1]);
+                out.writeInt((int) entry[2]);
+            }
+        }
+        return entries.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path games = Paths.get(args.length > 0 ? args[0] : "games.json");
+        Path book = Paths.get(args.length > 1 ? args[1] : "book.bin");
+        int maxPly = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_PLY;
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPly);
+        Map<Long, Game> stored;
+        try {
+            stored = JsonReaderUtil.readGamesAsMap(games);
+        } catch (ParseException | ClassCastException e) {
+            System.err.println("No games read from " + games + " (empty or not a JSON array of games); writing an empty book");
+            stored = Collections.emptyMap();
+        }
+        for (Game game : stored.values()) {
+            builder.addGame(game);
+        }
+        int entries = builder.write(book);
+        System.out.println("Wrote " + entries + " entries from " + builder.getGamesAdded() + " games to " + book);
+    }
+}
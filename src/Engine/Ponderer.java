@@ -0,0 +1,93 @@
+public class Ponderer {
+    private final SearchEngine engine;
+    private Thread thread;
+    private long ponderKey;
+    private volatile SearchResult result;
+    private int hits;
+    private int misses;
+
+    public Ponderer(SearchEngine engine) {
+        this.engine = engine;
+    }
+
+    // The engine must be idle.
+    public synchronized void start(BoardSnapshot position, int expectedReply, final SearchLimits limits) {
+        stop();
+        if (expectedReply == MoveEncoding.NONE) return;
+        Bitboards board = position.toBitboards();
+        if (!isLegal(board, expectedReply)) return;
+        board.makeMove(expectedReply);
+        final BoardSnapshot pondered = new BoardSnapshot(board);
+        ponderKey = pondered.getKey();
+        result = null;
+        engine.setPondering(true);
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                result = engine.search(pondered, limits);
+            }
+        }, "ponder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized boolean isPondering() {
+        return thread != null;
+    }
+
+    public synchronized SearchResult finish(long key) {
+        if (thread == null) return null;
+        if (key != ponderKey) {
+            misses++;
+            stop();
+            return null;
+        }
+        hits++;
+        engine.setPondering(false);
+        join();
+        thread = null;
+        return result;
+    }
+
+    public synchronized void stop() {
+        if (thread == null) return;
+        // The search clears the stop flag when it begins, so keep stopping until the thread is gone.
+        while (thread.isAlive()) {
+            engine.stop();
+            try {
+                thread.join(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        engine.setPondering(false);
+        thread = null;
+        result = null;
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    private static boolean isLegal(Bitboards board, int move) {
+        int[] moves = new int[MoveBuffer.MAX_MOVES];
+        int count = board.generateLegalMoves(board.getSideToMove(), moves, 0);
+        for (int i = 0; i < count; i++) {
+            if (MoveEncoding.sameMove(moves[i], move)) return true;
+        }
+        return false;
+    }
+
+    private void join() {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
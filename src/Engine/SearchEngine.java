@@ -0,0 +1,163 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SearchEngine {
+    public static final int INFINITY = 1000000;
+    public static final int MATE = 100000;
+    // Scores beyond this are mates; tablebase mates can be longer than the search depth.
+    public static final int MATE_BOUND = MATE - 1000;
+    public static final int DEFAULT_HASH_MB = 16;
+
+    private final TranspositionTable table;
+    private Tablebases tablebases;
+    private volatile SearchListener listener;
+    private SearchWorker[] workers = new SearchWorker[0];
+
+    private SearchLimits limits;
+    private long deadline;
+    private volatile boolean stopped;
+    private volatile boolean pondering;
+
+    public SearchEngine() {
+        this(new TranspositionTable(DEFAULT_HASH_MB));
+    }
+
+    public SearchEngine(TranspositionTable table) {
+        this.table = table;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public Tablebases getTablebases() {
+        return tablebases;
+    }
+
+    public void setTablebases(Tablebases tablebases) {
+        this.tablebases = tablebases;
+    }
+
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board.snapshot(), limits);
+    }
+
+    public SearchResult search(BoardSnapshot snapshot, SearchLimits limits) {
+        return search(snapshot, limits, null);
+    }
+
+    // cancelled is read after the stop flag is cleared, so a cancel that sets it before calling stop() is never lost.
+    public SearchResult search(BoardSnapshot snapshot, SearchLimits limits, AtomicBoolean cancelled) {
+        long start = System.currentTimeMillis();
+        this.limits = limits;
+        this.deadline = limits.getMaxTimeMillis() > 0 ? start + limits.getMaxTimeMillis() : Long.MAX_VALUE;
+        this.stopped = false;
+        if (cancelled != null && cancelled.get()) {
+            stopped = true;
+        }
+        table.newSearch();
+        ensureWorkers(limits.getThreads());
+
+        for (int i = 0; i < workers.length; i++) {
+            workers[i].prepare(snapshot, limits.getMaxDepth());
+        }
+        Thread[] helpers = new Thread[workers.length - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            helpers[i] = new Thread(workers[i + 1], "search-helper-" + (i + 1));
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+        workers[0].run();
+        stopped = true;
+        for (int i = 0; i < helpers.length; i++) {
+            try {
+                helpers[i].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        SearchWorker main = workers[0];
+        long[] threadNodes = new long[workers.length];
+        long cutoffs = 0;
+        long firstMoveCutoffs = 0;
+        for (int i = 0; i < workers.length; i++) {
+            threadNodes[i] = workers[i].getNodes();
+            cutoffs += workers[i].getOrderer().getCutoffs();
+            firstMoveCutoffs += workers[i].getOrderer().getFirstMoveCutoffs();
+        }
+        return new SearchResult(main.getBestMove(), main.getBestScore(), main.getCompletedDepth(),
+                threadNodes, System.currentTimeMillis() - start, main.getPrincipalVariation(),
+                cutoffs, firstMoveCutoffs);
+    }
+
+    public int probeReply(BoardSnapshot position) {
+        Bitboards board = position.toBitboards();
+        int[] moves = new int[MoveBuffer.MAX_MOVES];
+        int count = board.generateLegalMoves(board.getSideToMove(), moves, 0);
+        int best = MoveEncoding.NONE;
+        int bestScore = -INFINITY;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = tablebases == null ? Tablebases.NOT_FOUND : tablebases.probe(board);
+            if (score == Tablebases.NOT_FOUND) score = Evaluator.evaluate(board);
+            board.unmakeMove(moves[i]);
+            if (-score > bestScore) {
+                bestScore = -score;
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+
+    private void ensureWorkers(int threads) {
+        if (workers.length == threads) return;
+        workers = new SearchWorker[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(this, i);
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+    }
+
+    public boolean isPondering() {
+        return pondering;
+    }
+
+    public void setListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    void reportIteration(int depth, int score, int[] principalVariation) {
+        SearchListener current = listener;
+        if (current == null) return;
+        long nodes = 0;
+        for (int i = 0; i < workers.length; i++) {
+            nodes += workers[i].getNodes();
+        }
+        current.iterationCompleted(depth, score, nodes, principalVariation.clone());
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    void checkLimits() {
+        if (pondering) return;
+        if (limits.getMaxNodes() > 0) {
+            long nodes = 0;
+            for (int i = 0; i < workers.length; i++) {
+                nodes += workers[i].getNodes();
+            }
+            if (nodes >= limits.getMaxNodes()) stopped = true;
+        }
+        if (deadline != Long.MAX_VALUE && System.currentTimeMillis() >= deadline) {
+            stopped = true;
+        }
+    }
+}
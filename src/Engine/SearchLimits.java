@@ -0,0 +1,62 @@
+public final class SearchLimits {
+    public static final int MAX_DEPTH = 64;
+
+    private final int maxDepth;
+    private final long maxTimeMillis;
+    private final long maxNodes;
+    private final int threads;
+
+    public SearchLimits(int maxDepth, long maxTimeMillis, long maxNodes) {
+        this(maxDepth, maxTimeMillis, maxNodes, 1);
+    }
+
+    // A zero time or node budget means unlimited.
+    public SearchLimits(int maxDepth, long maxTimeMillis, long maxNodes, int threads) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be at least 1");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread");
+        }
+        this.maxDepth = Math.min(maxDepth, MAX_DEPTH);
+        this.maxTimeMillis = Math.max(0, maxTimeMillis);
+        this.maxNodes = Math.max(0, maxNodes);
+        this.threads = threads;
+    }
+
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, 0, 0);
+    }
+
+    public static SearchLimits time(long maxTimeMillis) {
+        return new SearchLimits(MAX_DEPTH, maxTimeMillis, 0);
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getMaxTimeMillis() {
+        return maxTimeMillis;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public SearchLimits withThreads(int threads) {
+        return new SearchLimits(maxDepth, maxTimeMillis, maxNodes, threads);
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + maxDepth
+                + (maxTimeMillis > 0 ? ", " + maxTimeMillis + " ms" : "")
+                + (maxNodes > 0 ? ", " + maxNodes + " nodes" : "")
+                + (threads > 1 ? ", " + threads + " threads" : "");
+    }
+}
@@ -0,0 +1,4 @@
+// Called on the searching thread, not the EDT.
+public interface SearchListener {
+    void iterationCompleted(int depth, int score, long nodes, int[] principalVariation);
+}
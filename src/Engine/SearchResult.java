@@ -0,0 +1,97 @@
+public final class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long[] threadNodes;
+    private final long elapsedMillis;
+    private final int[] principalVariation;
+    private final long cutoffs;
+    private final long firstMoveCutoffs;
+
+    public SearchResult(int bestMove, int score, int depth, long[] threadNodes, long elapsedMillis,
+                        int[] principalVariation, long cutoffs, long firstMoveCutoffs) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.threadNodes = threadNodes.clone();
+        this.elapsedMillis = elapsedMillis;
+        this.principalVariation = principalVariation.clone();
+        this.cutoffs = cutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public boolean hasMove() {
+        return bestMove != MoveEncoding.NONE;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        long nodes = 0;
+        for (long count : threadNodes) {
+            nodes += count;
+        }
+        return nodes;
+    }
+
+    public long[] getThreadNodes() {
+        return threadNodes.clone();
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedMillis <= 0 ? 0 : getNodes() * 1000 / elapsedMillis;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    public boolean isMateScore() {
+        return Math.abs(score) >= SearchEngine.MATE_BOUND;
+    }
+
+    // Moves until mate, positive when the side to move mates.
+    public int getMateIn() {
+        if (!isMateScore()) return 0;
+        int plies = SearchEngine.MATE - Math.abs(score);
+        return score > 0 ? (plies + 1) / 2 : -(plies / 2);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("depth ").append(depth);
+        if (isMateScore()) {
+            sb.append(" mate ").append(getMateIn());
+        } else {
+            sb.append(" cp ").append(score);
+        }
+        sb.append(" nodes ").append(getNodes()).append(" time ").append(elapsedMillis).append(" pv");
+        for (int move : principalVariation) {
+            sb.append(' ').append(MoveEncoding.toString(move));
+        }
+        return sb.toString();
+    }
+}
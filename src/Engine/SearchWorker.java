@@ -0,0 +1,219 @@
+final class SearchWorker implements Runnable {
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 1;
+    private static final int CHECK_INTERVAL = 1023;
+
+    private final SearchEngine engine;
+    private final int id;
+    private final MoveBuffer buffer = new MoveBuffer(MAX_PLY);
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    private final MoveOrderer orderer = new MoveOrderer(MAX_PLY);
+    private final StaticExchange exchange = new StaticExchange();
+
+    private Bitboards board;
+    private int maxDepth;
+    private long nodes;
+    private volatile long publishedNodes;
+
+    private int[] previousPv = new int[0];
+    private int bestMove;
+    private int bestScore;
+    private int completedDepth;
+
+    SearchWorker(SearchEngine engine, int id) {
+        this.engine = engine;
+        this.id = id;
+    }
+
+    void prepare(BoardSnapshot snapshot, int maxDepth) {
+        this.board = snapshot.toBitboards();
+        this.maxDepth = maxDepth;
+        this.nodes = 0;
+        this.publishedNodes = 0;
+        this.previousPv = new int[0];
+        this.bestMove = MoveEncoding.NONE;
+        this.bestScore = -SearchEngine.INFINITY;
+        this.completedDepth = 0;
+        orderer.newSearch();
+    }
+
+    @Override
+    public void run() {
+        int[] rootMoves = buffer.get(0);
+        int rootCount = board.generateLegalMoves(board.getSideToMove(), rootMoves, 0);
+        if (rootCount == 0) {
+            bestScore = board.isInCheck(board.getSideToMove()) ? -SearchEngine.MATE : 0;
+            return;
+        }
+        bestMove = rootMoves[0];
+        // Helpers on odd ids start one ply deeper so the threads spread over different depths.
+        int firstDepth = id % 2 == 1 ? 2 : 1;
+        for (int depth = Math.min(firstDepth, maxDepth); depth <= maxDepth; depth++) {
+            int score = negamax(depth, 0, -SearchEngine.INFINITY, SearchEngine.INFINITY);
+            if (engine.isStopped()) {
+                if (completedDepth == 0) {
+                    if (pvLength[0] > 0) bestMove = pvTable[0][0];
+                    bestScore = Evaluator.evaluate(board);
+                }
+                break;
+            }
+            if (pvLength[0] > 0) {
+                previousPv = new int[pvLength[0]];
+                System.arraycopy(pvTable[0], 0, previousPv, 0, pvLength[0]);
+                bestMove = previousPv[0];
+                bestScore = score;
+                completedDepth = depth;
+                if (id == 0) {
+                    publishedNodes = nodes;
+                    engine.reportIteration(depth, score, previousPv);
+                }
+            }
+            if (rootCount == 1 || Math.abs(score) >= SearchEngine.MATE - depth) break;
+        }
+        publishedNodes = nodes;
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        nodes++;
+        if ((nodes & CHECK_INTERVAL) == 0) {
+            publishedNodes = nodes;
+            engine.checkLimits();
+        }
+        if (ply > 0 && engine.isStopped()) return 0;
+        if (ply > 0 && engine.getTablebases() != null) {
+            int score = engine.getTablebases().probe(board);
+            if (score != Tablebases.NOT_FOUND) return TranspositionTable.scoreFromTable(score, ply);
+        }
+        if (ply >= MAX_PLY - 1) return Evaluator.evaluate(board);
+        if (depth == 0) return quiesce(ply, alpha, beta);
+        int color = board.getSideToMove();
+        TranspositionTable table = engine.getTable();
+        long key = board.getKey();
+        long entry = table.probe(key);
+        int hashMove = MoveEncoding.NONE;
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.move(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+        if (ply == 0 && previousPv.length > 0) hashMove = previousPv[0];
+        int[] moves = buffer.get(ply);
+        int count = board.generateLegalMoves(color, moves, 0);
+        if (count == 0) {
+            return board.isInCheck(color) ? -SearchEngine.MATE + ply : 0;
+        }
+        orderer.score(board, moves, count, hashMove, ply);
+
+        int originalAlpha = alpha;
+        int best = -SearchEngine.INFINITY;
+        int bestMove = MoveEncoding.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = orderer.next(moves, count, i, ply);
+            board.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove(move);
+            if (engine.isStopped()) return alpha;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    pvTable[ply][0] = move;
+                    System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+                    pvLength[ply] = pvLength[ply + 1] + 1;
+                    if (alpha >= beta) {
+                        orderer.recordCutoff(move, ply, depth, i);
+                        break;
+                    }
+                }
+            }
+        }
+        if (!engine.isStopped()) {
+            int bound = best >= beta ? TranspositionTable.LOWER
+                    : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(key, bestMove, TranspositionTable.scoreToTable(best, ply), depth, bound);
+        }
+        return best;
+    }
+
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (engine.getTablebases() != null) {
+            int score = engine.getTablebases().probe(board);
+            if (score != Tablebases.NOT_FOUND) return TranspositionTable.scoreFromTable(score, ply);
+        }
+        if (ply >= MAX_PLY - 1) return Evaluator.evaluate(board);
+        int color = board.getSideToMove();
+        boolean inCheck = board.isInCheck(color);
+        int[] moves = buffer.get(ply);
+        int count;
+        int best;
+        if (inCheck) {
+            count = board.generateLegalMoves(color, moves, 0);
+            if (count == 0) return -SearchEngine.MATE + ply;
+            best = -SearchEngine.INFINITY;
+        } else {
+            best = Evaluator.evaluate(board);
+            if (best >= beta) return best;
+            if (best > alpha) alpha = best;
+            count = board.generateLegalCaptures(color, moves, 0);
+        }
+        orderer.score(board, moves, count, MoveEncoding.NONE, ply);
+        for (int i = 0; i < count; i++) {
+            int move = orderer.next(moves, count, i, ply);
+            if (!inCheck) {
+                if (MoveEncoding.isPromotion(move) && MoveEncoding.promotion(move) != Bitboards.QUEEN) continue;
+                if (exchange.evaluate(board, move) < 0) continue;
+            }
+            nodes++;
+            if ((nodes & CHECK_INTERVAL) == 0) {
+                publishedNodes = nodes;
+                engine.checkLimits();
+            }
+            board.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            board.unmakeMove(move);
+            if (engine.isStopped()) return alpha;
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+        return best;
+    }
+
+    long getNodes() {
+        return publishedNodes;
+    }
+
+    MoveOrderer getOrderer() {
+        return orderer;
+    }
+
+    int getBestMove() {
+        return bestMove;
+    }
+
+    int getBestScore() {
+        return bestScore;
+    }
+
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    int[] getPrincipalVariation() {
+        return previousPv;
+    }
+}
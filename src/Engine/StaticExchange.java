@@ -0,0 +1,46 @@
+// Pins are ignored.
+public class StaticExchange {
+    private final int[] gains = new int[32];
+
+    public int evaluate(Bitboards board, int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        int side = board.colorAt(from);
+        int attacker = board.typeAt(from);
+        if (side == Bitboards.NO_PIECE) return 0;
+
+        gains[0] = MoveEncoding.isCapture(move) ? value(MoveEncoding.captured(move)) : 0;
+        if (MoveEncoding.isPromotion(move)) {
+            attacker = MoveEncoding.promotion(move);
+            gains[0] += value(attacker) - value(Bitboards.PAWN);
+        }
+        long occ = board.getOccupied() & ~(1L << from);
+        int depth = 0;
+        while (depth < gains.length - 1) {
+            side ^= 1;
+            depth++;
+            gains[depth] = value(attacker) - gains[depth - 1];
+            if (Math.max(-gains[depth - 1], gains[depth]) < 0) break;
+            long attackers = board.attackersTo(to, side, occ) & occ;
+            if (attackers == 0) break;
+            int type = Bitboards.PAWN;
+            long bits = 0L;
+            for (; type <= Bitboards.KING; type++) {
+                bits = attackers & board.getPieces(side, type);
+                if (bits != 0) break;
+            }
+            long bit = Long.lowestOneBit(bits);
+            if (type == Bitboards.KING && (board.attackersTo(to, side ^ 1, occ & ~bit) & occ) != 0) break;
+            occ &= ~bit;
+            attacker = type;
+        }
+        while (--depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+        }
+        return gains[0];
+    }
+
+    private static int value(int type) {
+        return type == Bitboards.KING ? SearchEngine.MATE : MaterialLedger.PIECE_VALUES[type];
+    }
+}
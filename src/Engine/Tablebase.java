@@ -0,0 +1,126 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// One byte per position: DRAW, ILLEGAL, or plies to mate + 1 (white wins when white is to move,
+// black loses when black is to move). The white king is mirrored onto files a-d, and ranks 1-4 without pawns.
+public class Tablebase {
+    public static final int MAGIC = 0x434D5442;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+
+    public static final int DRAW = 0;
+    public static final int ILLEGAL = 255;
+
+    private final int[] types;
+    private final boolean pawns;
+    private final ByteBuffer values;
+
+    Tablebase(int[] types, ByteBuffer values) {
+        this.types = types.clone();
+        this.pawns = hasPawns(types);
+        this.values = values;
+    }
+
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a tablebase: " + path);
+            }
+            int packed = buffer.getInt(8);
+            int[] types = new int[packed >>> 24];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = (packed >>> (16 - i * 8)) & 0xFF;
+            }
+            if (types.length < 1 || types.length > 2 || buffer.getInt(12) != size(types)
+                    || channel.size() < HEADER_BYTES + (long) size(types)) {
+                throw new IOException("Corrupt tablebase: " + path);
+            }
+            buffer.position(HEADER_BYTES);
+            return new Tablebase(types, buffer.slice());
+        }
+    }
+
+    static int packTypes(int[] types) {
+        int packed = types.length << 24;
+        for (int i = 0; i < types.length; i++) {
+            packed |= types[i] << (16 - i * 8);
+        }
+        return packed;
+    }
+
+    public int[] getTypes() {
+        return types.clone();
+    }
+
+    public int getPieceCount() {
+        return types.length;
+    }
+
+    public int getType(int i) {
+        return types[i];
+    }
+
+    public String getName() {
+        return name(types);
+    }
+
+    public static String name(int[] types) {
+        StringBuilder sb = new StringBuilder("K");
+        for (int type : types) {
+            sb.append(Bitboards.typeChar(type));
+        }
+        return sb.append('K').toString();
+    }
+
+    public int value(int index) {
+        return values.get(index) & 0xFF;
+    }
+
+    public int value(int side, int whiteKing, int blackKing, int[] squares) {
+        return value(index(pawns, side, whiteKing, blackKing, squares));
+    }
+
+    public int value(int side, int whiteKing, int blackKing, int first, int second) {
+        return value(index(pawns, side, whiteKing, blackKing, first, second, types.length));
+    }
+
+    static boolean hasPawns(int[] types) {
+        for (int type : types) {
+            if (type == Bitboards.PAWN) return true;
+        }
+        return false;
+    }
+
+    static int kingSlots(boolean pawns) {
+        return pawns ? 32 : 16;
+    }
+
+    static int size(int[] types) {
+        int size = 2 * kingSlots(hasPawns(types)) * 64;
+        for (int i = 0; i < types.length; i++) {
+            size *= 64;
+        }
+        return size;
+    }
+
+    static int index(boolean pawns, int side, int whiteKing, int blackKing, int[] squares) {
+        return index(pawns, side, whiteKing, blackKing, squares[0], squares.length > 1 ? squares[1] : 0, squares.length);
+    }
+
+    static int index(boolean pawns, int side, int whiteKing, int blackKing, int first, int second, int count) {
+        int flip = 0;
+        if ((whiteKing & 7) > 3) flip ^= 7;
+        if (!pawns && (whiteKing >>> 3) > 3) flip ^= 56;
+        int king = whiteKing ^ flip;
+        int index = side * kingSlots(pawns) + (king >>> 3) * 4 + (king & 7);
+        index = index * 64 + (blackKing ^ flip);
+        index = index * 64 + (first ^ flip);
+        if (count > 1) index = index * 64 + (second ^ flip);
+        return index;
+    }
+}
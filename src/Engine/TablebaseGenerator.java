@@ -0,0 +1,280 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Retrograde analysis by ply; KPK promotions are seeded from the KQK and KRK tables.
+public class TablebaseGenerator {
+    private static final int ESCAPES = 255;
+
+    private final int[] types;
+    private final boolean pawns;
+    private final Tablebase[] promotions;
+    private final int size;
+    private final byte[] values;
+    private final byte[] escapes;
+    private final List<IntList> resolved = new ArrayList<>();
+    private final List<IntList> seeded = new ArrayList<>();
+
+    private final int[] squares;
+    private final int[] predecessors = new int[8];
+    private int side;
+    private int whiteKing;
+    private int blackKing;
+
+    // promotions holds the tables a promoting pawn lands in, indexed by piece type; may be null.
+    public TablebaseGenerator(int[] types, Tablebase[] promotions) {
+        this.types = types.clone();
+        this.pawns = Tablebase.hasPawns(types);
+        this.promotions = promotions;
+        this.size = Tablebase.size(types);
+        this.values = new byte[size];
+        this.escapes = new byte[size];
+        this.squares = new int[types.length];
+    }
+
+    public byte[] generate() {
+        for (int index = 0; index < size; index++) {
+            decode(index);
+            if (!isLegal()) {
+                values[index] = (byte) Tablebase.ILLEGAL;
+            } else if (side == Bitboards.BLACK) {
+                countEscapes(index);
+            } else if (pawns) {
+                seedPromotions(index);
+            }
+        }
+        for (int ply = 0; ply < resolved.size() || ply < seeded.size(); ply++) {
+            IntList wins = list(seeded, ply);
+            for (int i = 0; i < wins.size; i++) {
+                resolve(wins.items[i], ply);
+            }
+            IntList level = list(resolved, ply);
+            for (int i = 0; i < level.size; i++) {
+                decode(level.items[i]);
+                if (side == Bitboards.BLACK) {
+                    retractWhite(ply + 1);
+                } else {
+                    retractBlack(ply + 1);
+                }
+            }
+        }
+        return values;
+    }
+
+    private void resolve(int index, int ply) {
+        if (values[index] != Tablebase.DRAW) return;
+        values[index] = (byte) (ply + 1);
+        list(resolved, ply).add(index);
+    }
+
+    private void countEscapes(int index) {
+        long occ = occupied();
+        long attacked = whiteAttacks(occ & ~(1L << blackKing));
+        long targets = Bitboards.kingAttacks(blackKing) & ~attacked;
+        if (targets == 0) {
+            if ((attacked & (1L << blackKing)) != 0) {
+                resolve(index, 0);
+            } else {
+                escapes[index] = (byte) ESCAPES;
+            }
+            return;
+        }
+        if ((targets & occ) != 0) {
+            escapes[index] = (byte) ESCAPES;
+            return;
+        }
+        // Symmetric successors share one index, so each is counted once.
+        int count = 0;
+        int king = blackKing;
+        while (targets != 0) {
+            blackKing = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            count = addDistinct(Tablebase.index(pawns, Bitboards.WHITE, whiteKing, blackKing, squares), count);
+        }
+        blackKing = king;
+        escapes[index] = (byte) count;
+    }
+
+    private void seedPromotions(int index) {
+        for (int i = 0; i < squares.length; i++) {
+            int from = squares[i];
+            if (types[i] != Bitboards.PAWN || (from >>> 3) != 6 || (occupied() & (1L << (from + 8))) != 0) continue;
+            for (int promotion = Bitboards.KNIGHT; promotion <= Bitboards.QUEEN; promotion++) {
+                Tablebase table = promotions == null ? null : promotions[promotion];
+                if (table == null) continue;
+                squares[i] = from + 8;
+                int value = table.value(Bitboards.BLACK, whiteKing, blackKing, squares);
+                squares[i] = from;
+                if (value != Tablebase.DRAW && value != Tablebase.ILLEGAL) {
+                    list(seeded, value).add(index);
+                }
+            }
+        }
+    }
+
+    private void retractWhite(int ply) {
+        side = Bitboards.WHITE;
+        long occ = occupied();
+        int king = whiteKing;
+        long from = Bitboards.kingAttacks(king) & ~occ;
+        while (from != 0) {
+            whiteKing = Long.numberOfTrailingZeros(from);
+            from &= from - 1;
+            if (isLegal()) resolve(currentIndex(), ply);
+        }
+        whiteKing = king;
+        for (int i = 0; i < squares.length; i++) {
+            int to = squares[i];
+            from = retractions(types[i], to, occ);
+            while (from != 0) {
+                squares[i] = Long.numberOfTrailingZeros(from);
+                from &= from - 1;
+                if (isLegal()) resolve(currentIndex(), ply);
+            }
+            squares[i] = to;
+        }
+    }
+
+    private void retractBlack(int ply) {
+        side = Bitboards.BLACK;
+        long from = Bitboards.kingAttacks(blackKing) & ~occupied();
+        int count = 0;
+        while (from != 0) {
+            blackKing = Long.numberOfTrailingZeros(from);
+            from &= from - 1;
+            if (isLegal()) count = addDistinct(currentIndex(), count);
+        }
+        for (int i = 0; i < count; i++) {
+            int index = predecessors[i];
+            if (values[index] != Tablebase.DRAW || escapes[index] == (byte) ESCAPES) continue;
+            escapes[index]--;
+            if (escapes[index] == 0) resolve(index, ply);
+        }
+    }
+
+    private int addDistinct(int index, int count) {
+        for (int i = 0; i < count; i++) {
+            if (predecessors[i] == index) return count;
+        }
+        predecessors[count] = index;
+        return count + 1;
+    }
+
+    private static long retractions(int type, int to, long occ) {
+        if (type != Bitboards.PAWN) {
+            return Bitboards.attacksFrom(Bitboards.WHITE, type, to, occ) & ~occ;
+        }
+        long from = 0L;
+        if (to >= 16 && (occ & (1L << (to - 8))) == 0) {
+            from |= 1L << (to - 8);
+            if ((to >>> 3) == 3 && (occ & (1L << (to - 16))) == 0) from |= 1L << (to - 16);
+        }
+        return from;
+    }
+
+    private boolean isLegal() {
+        long occ = (1L << whiteKing) | (1L << blackKing);
+        if (whiteKing == blackKing || (Bitboards.kingAttacks(whiteKing) & (1L << blackKing)) != 0) return false;
+        for (int i = 0; i < squares.length; i++) {
+            long bit = 1L << squares[i];
+            if ((occ & bit) != 0) return false;
+            if (types[i] == Bitboards.PAWN && (squares[i] < 8 || squares[i] >= 56)) return false;
+            occ |= bit;
+        }
+        return side == Bitboards.BLACK || (whiteAttacks(occ) & (1L << blackKing)) == 0;
+    }
+
+    private long whiteAttacks(long occ) {
+        long attacks = Bitboards.kingAttacks(whiteKing);
+        for (int i = 0; i < squares.length; i++) {
+            attacks |= Bitboards.attacksFrom(Bitboards.WHITE, types[i], squares[i], occ);
+        }
+        return attacks;
+    }
+
+    private long occupied() {
+        long occ = (1L << whiteKing) | (1L << blackKing);
+        for (int square : squares) {
+            occ |= 1L << square;
+        }
+        return occ;
+    }
+
+    private int currentIndex() {
+        return Tablebase.index(pawns, side, whiteKing, blackKing, squares);
+    }
+
+    private void decode(int index) {
+        for (int i = squares.length - 1; i >= 0; i--) {
+            squares[i] = index & 63;
+            index >>>= 6;
+        }
+        blackKing = index & 63;
+        index >>>= 6;
+        int slots = Tablebase.kingSlots(pawns);
+        int slot = index % slots;
+        side = index / slots;
+        whiteKing = (slot / 4) * 8 + slot % 4;
+    }
+
+    private static IntList list(List<IntList> lists, int ply) {
+        while (lists.size() <= ply) {
+            lists.add(new IntList());
+        }
+        return lists.get(ply);
+    }
+
+    public static void write(Path path, int[] types, byte[] values) throws IOException {
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.VERSION);
+            out.writeInt(Tablebase.packTypes(types));
+            out.writeInt(values.length);
+            out.write(values);
+        }
+    }
+
+    private static Tablebase build(Path directory, int[] types, Tablebase[] promotions) throws IOException {
+        long start = System.currentTimeMillis();
+        byte[] values = new TablebaseGenerator(types, promotions).generate();
+        Path path = directory.resolve(Tablebase.name(types) + Tablebases.EXTENSION);
+        write(path, types, values);
+        int longest = 0;
+        for (byte value : values) {
+            int v = value & 0xFF;
+            if (v != Tablebase.ILLEGAL && v > longest) longest = v;
+        }
+        System.out.println("Wrote " + path + " (" + values.length + " bytes, longest mate "
+                + Math.max(0, longest - 1) + " plies) in " + (System.currentTimeMillis() - start) + " ms");
+        return new Tablebase(types, ByteBuffer.wrap(values));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : Tablebases.DEFAULT_DIRECTORY);
+        Files.createDirectories(directory);
+        Tablebase[] promotions = new Tablebase[Bitboards.KING];
+        promotions[Bitboards.QUEEN] = build(directory, new int[]{Bitboards.QUEEN}, null);
+        promotions[Bitboards.ROOK] = build(directory, new int[]{Bitboards.ROOK}, null);
+        build(directory, new int[]{Bitboards.PAWN}, promotions);
+        build(directory, new int[]{Bitboards.BISHOP, Bitboards.KNIGHT}, null);
+    }
+
+    private static final class IntList {
+        int[] items = new int[64];
+        int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Tablebases {
+    public static final String DEFAULT_DIRECTORY = "tablebases";
+    public static final String EXTENSION = ".tb";
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+    public static final int MAX_PIECES = 4;
+
+    private final List<Tablebase> tables;
+
+    public Tablebases(List<Tablebase> tables) {
+        this.tables = new ArrayList<>(tables);
+    }
+
+    public static Tablebases openDirectory(Path directory) {
+        List<Tablebase> tables = new ArrayList<>();
+        if (directory != null && Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    try {
+                        tables.add(Tablebase.open(file));
+                    } catch (IOException e) {
+                        System.err.println("Ignoring tablebase " + file + ": " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Cannot read tablebases in " + directory + ": " + e.getMessage());
+            }
+        }
+        return new Tablebases(tables);
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public boolean isEmpty() {
+        return tables.isEmpty();
+    }
+
+    // MATE - plies to mate, negated when losing; 0 for a draw.
+    public int probe(Bitboards board) {
+        long occupied = board.getOccupied();
+        if (tables.isEmpty() || Long.bitCount(occupied) > MAX_PIECES) return NOT_FOUND;
+        int strong;
+        if (board.getOccupancy(Bitboards.BLACK) == board.getPieces(Bitboards.BLACK, Bitboards.KING)) {
+            strong = Bitboards.WHITE;
+        } else if (board.getOccupancy(Bitboards.WHITE) == board.getPieces(Bitboards.WHITE, Bitboards.KING)) {
+            strong = Bitboards.BLACK;
+        } else {
+            return NOT_FOUND;
+        }
+        Tablebase table = find(board, strong);
+        if (table == null) return NOT_FOUND;
+
+        int flip = strong == Bitboards.WHITE ? 0 : 56;
+        int side = board.getSideToMove() == strong ? Bitboards.WHITE : Bitboards.BLACK;
+        int first = board.getPieceSquare(strong, table.getType(0), 0) ^ flip;
+        int second = table.getPieceCount() > 1 ? board.getPieceSquare(strong, table.getType(1), 0) ^ flip : 0;
+        int value = table.value(side, board.kingSquare(strong) ^ flip, board.kingSquare(strong ^ 1) ^ flip, first, second);
+        if (value == Tablebase.ILLEGAL) return NOT_FOUND;
+        if (value == Tablebase.DRAW) return 0;
+        int score = SearchEngine.MATE - (value - 1);
+        return side == Bitboards.WHITE ? score : -score;
+    }
+
+    private Tablebase find(Bitboards board, int strong) {
+        int pieces = Long.bitCount(board.getOccupancy(strong)) - 1;
+        for (int i = 0; i < tables.size(); i++) {
+            Tablebase table = tables.get(i);
+            if (table.getPieceCount() != pieces) continue;
+            boolean matches = true;
+            for (int j = 0; j < pieces && matches; j++) {
+                matches = board.getPieceCount(strong, table.getType(j)) == 1;
+            }
+            if (matches) return table;
+        }
+        return null;
+    }
+}
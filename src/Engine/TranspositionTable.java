@@ -0,0 +1,134 @@
+// Entries are stored as (key ^ data, data), so an entry torn by a concurrent writer reads as a miss.
+public class TranspositionTable {
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+    public static final long MISS = 0L;
+
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int LONGS_PER_BUCKET = BUCKET_ENTRIES * 2;
+
+    // Data layout: bits 0-19 move, 20-40 score + SCORE_OFFSET, 41-47 depth, 48-49 bound, 50-57 generation.
+    private static final int SCORE_OFFSET = 1 << 20;
+    private static final long MOVE_MASK = (1L << 20) - 1;
+    private static final long SCORE_MASK = (1L << 21) - 1;
+
+    private final long[] table;
+    private final int bucketMask;
+    private int generation;
+
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB");
+        }
+        long buckets = ((long) megabytes << 20) / (LONGS_PER_BUCKET * 8);
+        int size = Integer.highestOneBit((int) Math.min(buckets, 1 << 24));
+        this.table = new long[size * LONGS_PER_BUCKET];
+        this.bucketMask = size - 1;
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0L;
+        }
+        generation = 0;
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public long probe(long key) {
+        int base = bucketBase(key);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int slot = base + i * 2;
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == key && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = bucketBase(key);
+        int target = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int slot = base + i * 2;
+            long data = table[slot + 1];
+            if (data == MISS || (table[slot] ^ data) == key) {
+                if (data != MISS && move == MoveEncoding.NONE) move = move(data);
+                if (data != MISS && bound != EXACT && depth(data) > depth + 2 && generation(data) == generation) {
+                    return;
+                }
+                target = slot;
+                break;
+            }
+            int age = (generation - generation(data)) & 0xFF;
+            int value = depth(data) - age * 8;
+            if (value < worst) {
+                worst = value;
+                target = slot;
+            }
+        }
+        long data = (move & MOVE_MASK)
+                | ((long) (score + SCORE_OFFSET) & SCORE_MASK) << 20
+                | (long) (depth & 0x7F) << 41
+                | (long) bound << 48
+                | (long) generation << 50;
+        table[target] = key ^ data;
+        table[target + 1] = data;
+    }
+
+    private int bucketBase(long key) {
+        return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    public static int move(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int score(long data) {
+        return (int) ((data >>> 20) & SCORE_MASK) - SCORE_OFFSET;
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 41) & 0x7F);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 48) & 3);
+    }
+
+    private static int generation(long data) {
+        return (int) ((data >>> 50) & 0xFF);
+    }
+
+    // Mate scores are stored as distance from the stored node rather than from the root.
+    public static int scoreToTable(int score, int ply) {
+        if (score >= SearchEngine.MATE_BOUND) return score + ply;
+        if (score <= -SearchEngine.MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= SearchEngine.MATE_BOUND) return score - ply;
+        if (score <= -SearchEngine.MATE_BOUND) return score + ply;
+        return score;
+    }
+
+    public int hashfull() {
+        int used = 0;
+        int samples = Math.min(1000, table.length / 2);
+        for (int i = 0; i < samples; i++) {
+            long data = table[i * 2 + 1];
+            if (data != MISS && generation(data) == generation) used++;
+        }
+        return samples == 0 ? 0 : used * 1000 / samples;
+    }
+
+    public long getSizeBytes() {
+        return table.length * 8L;
+    }
+}
@@ -2,9 +2,11 @@ import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameFrame extends JFrame implements GameObserver {
     private Main app;
@@ -26,7 +28,13 @@ public class GameFrame extends JFrame implements GameObserver {
     private final Color CAPTURE_COLOR = new Color(255, 100, 100);
     private final Color CHECK_WARNING_COLOR = new Color(255, 200, 200);
 
-    private Timer computerTimer;
+    private ComputerMoveWorker computerWorker;
+    private final SearchEngine engine = new SearchEngine();
+    private final Ponderer ponderer = new Ponderer(engine);
+    private static final String BOOK_FILE = "book.bin";
+    private final OpeningBook book = OpeningBook.openIfExists(Paths.get(BOOK_FILE));
+    private static final Tablebases TABLEBASES = Tablebases.openDirectory(Paths.get(Tablebases.DEFAULT_DIRECTORY));
+    private final Random random = new Random();
 
     public GameFrame(Main app, Game game, ChessGUI gui) {
         this.app = app;
@@ -36,6 +44,7 @@ public class GameFrame extends JFrame implements GameObserver {
         setSize(1000, 700);
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setLocationRelativeTo(null);
+        engine.setTablebases(TABLEBASES);
         game.addObserver(this);
         initComponents();
         updateDisplay();
@@ -241,14 +250,14 @@ public class GameFrame extends JFrame implements GameObserver {
         }
         char x = (char) ('A' + col);
         int y = 8 - row;
-        Position position = new Position(x, y);
+        Position position = Position.of(x, y);
         Player currentPlayer = game.getCurrentPlayer();
         Board board = game.getBoard();
         if (selectedPosition == null) {
             Piece piece = board.getPieceAt(position);
             if (piece != null && piece.getColor() == currentPlayer.getColor()) {
                 selectedPosition = position;
-                highlightedMoves = board.getValidMovesForPiece(position);
+                highlightedMoves = game.getStatus().getLegalMoves(position);
                 highlightSquares();
 
                 gameStatusLabel.setText("Selected: " + getPieceName(piece.getType()) + " at " + position);
@@ -266,8 +275,11 @@ public class GameFrame extends JFrame implements GameObserver {
                     game.addMove(currentPlayer, selectedPosition, position);
                     addMoveToHistory(currentPlayer, selectedPosition, position, isCapture, targetPiece);
                     app.saveGame(game);
-                    checkGameState();
+                    boolean gameOver = checkGameState();
                     game.switchPlayer();
+                    if (gameOver) {
+                        return;
+                    }
                     if (game.isComputerTurn()) {
                         gameStatusLabel.setText("Computer thinking...");
                         startComputerMove();
@@ -279,7 +291,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 }
             } else {
                 Piece selectedPiece = board.getPieceAt(selectedPosition);
-                boolean isInCheck = board.isInCheck(currentPlayer.getColor());
+                boolean isInCheck = game.getStatus().isInCheck();
                 if (selectedPiece != null) {
                     List<Position> allPossibleMoves = selectedPiece.getPossibleMoves(board);
                     if (allPossibleMoves.contains(position)) {
@@ -304,148 +316,157 @@ public class GameFrame extends JFrame implements GameObserver {
     }
 
     private void startComputerMove() {
-        if (computerTimer != null && computerTimer.isRunning()) {
-            computerTimer.stop();
+        if (computerWorker != null) {
+            return;
         }
-        computerTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                computerTimer.stop();
-                makeComputerMove();
-            }
-        });
-        computerTimer.setRepeats(false);
-        computerTimer.start();
-    }
-
-    private void makeComputerMove() {
         Player computer = game.getCurrentPlayer();
         if (!computer.getName().equals("Computer")) {
             return;
         }
         Board board = game.getBoard();
-        List<Position> computerPieces = new ArrayList<>();
-        for (char x = 'A'; x <= 'H'; x++) {
-            for (int y = 1; y <= 8; y++) {
-                Position pos = new Position(x, y);
-                Piece piece = board.getPieceAt(pos);
-                if (piece != null && piece.getColor() == computer.getColor()) {
-                    computerPieces.add(pos);
-                }
-            }
+        gameStatusLabel.setText("Computer thinking...");
+        computerWorker = new ComputerMoveWorker(board.snapshot(), findBookMove(board, computer.getColor()));
+        computerWorker.execute();
+    }
+
+    private void cancelComputerMove() {
+        if (computerWorker != null) {
+            computerWorker.cancelSearch();
+            computerWorker = null;
         }
-        if (computerPieces.isEmpty()) {
-            gameStatusLabel.setText("Computer has no pieces!");
-            return;
+        ponderer.stop();
+    }
+
+    private class ComputerMoveWorker extends SwingWorker<SearchResult, String> {
+        private final BoardSnapshot snapshot;
+        private final int bookMove;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile boolean ponderHit;
+
+        ComputerMoveWorker(BoardSnapshot snapshot, int bookMove) {
+            this.snapshot = snapshot;
+            this.bookMove = bookMove;
         }
-        Random rand = new Random();
-        boolean moveMade = false;
-        for (int attempt = 0; attempt < 50 && !moveMade; attempt++) {
-            Position from = computerPieces.get(rand.nextInt(computerPieces.size()));
-            Piece piece = board.getPieceAt(from);
-            if (piece == null) continue;
-            List<Position> validMoves = board.getValidMovesForPiece(from);
-            if (validMoves.isEmpty()) continue;
-            List<Position> captureMoves = new ArrayList<>();
-            List<Position> safeMoves = new ArrayList<>();
-            for (Position to : validMoves) {
-                Piece target = board.getPieceAt(to);
-                if (target != null && target.getColor() != piece.getColor()) {
-                    int targetValue = getPieceValue(target.getType());
-                    if (targetValue >= 3) {
-                        captureMoves.add(to);
-                    }
-                } else if (isSafeSquare(board, to, computer.getColor())) {
-                    safeMoves.add(to);
-                }
-            }
-            Position to = null;
-            if (!captureMoves.isEmpty()) {
-                to = captureMoves.get(rand.nextInt(captureMoves.size()));
-            } else if (!safeMoves.isEmpty()) {
-                to = safeMoves.get(rand.nextInt(safeMoves.size()));
-            } else if (!validMoves.isEmpty()) {
-                to = validMoves.get(rand.nextInt(validMoves.size()));
+
+        @Override
+        protected SearchResult doInBackground() {
+            if (bookMove != MoveEncoding.NONE) {
+                ponderer.stop();
+                return null;
             }
-            if (to != null) {
-                try {
-                    Piece targetPiece = board.getPieceAt(to);
-                    boolean isCapture = (targetPiece != null && targetPiece.getColor() != piece.getColor());
-                    computer.makeMove(from, to, board, gui);
-                    game.addMove(computer, from, to);
-                    addMoveToHistory(computer, from, to, isCapture, targetPiece);
-                    app.saveGame(game);
-                    moveMade = true;
-                    String moveDesc = from + "-" + to;
-                    if (isCapture) {
-                        moveDesc += " (captures " + getPieceName(targetPiece.getType()) + ")";
-                    }
-                    gameStatusLabel.setText("Computer moved: " + moveDesc);
-                    checkGameState();
-                    game.switchPlayer();
-                    updateDisplay();
-                } catch (InvalidMoveException e) {
+            engine.setListener(new SearchListener() {
+                @Override
+                public void iterationCompleted(int depth, int score, long nodes, int[] principalVariation) {
+                    publish("Computer thinking... depth " + depth + ", " + nodes + " nodes");
+                }
+            });
+            try {
+                SearchResult result = ponderer.finish(snapshot.getKey());
+                ponderHit = result != null && result.hasMove();
+                if (!ponderHit && !isCancelled()) {
+                    result = engine.search(snapshot, game.getDifficulty().getLimits(), cancelled);
                 }
+                return result;
+            } finally {
+                engine.setListener(null);
             }
         }
-        if (!moveMade) {
-            for (int attempt = 0; attempt < 100 && !moveMade; attempt++) {
-                Position from = computerPieces.get(rand.nextInt(computerPieces.size()));
-                Piece piece = board.getPieceAt(from);
-                if (piece == null) continue;
-                List<Position> validMoves = board.getValidMovesForPiece(from);
-                if (validMoves.isEmpty()) continue;
-                Position to = validMoves.get(rand.nextInt(validMoves.size()));
-                Piece targetPiece = board.getPieceAt(to);
-                boolean isCapture = (targetPiece != null && targetPiece.getColor() != piece.getColor());
-                try {
-                    computer.makeMove(from, to, board, gui);
-                    game.addMove(computer, from, to);
-                    addMoveToHistory(computer, from, to, isCapture, targetPiece);
-                    app.saveGame(game);
-                    moveMade = true;
-                    gameStatusLabel.setText("Computer moved: " + from + "-" + to);
-                    checkGameState();
-                    game.switchPlayer();
-                    updateDisplay();
-                } catch (InvalidMoveException e) {
-                }
+
+        void cancelSearch() {
+            cancelled.set(true);
+            cancel(false);
+            engine.stop();
+        }
+
+        @Override
+        protected void process(List<String> progress) {
+            if (computerWorker == this) {
+                gameStatusLabel.setText(progress.get(progress.size() - 1));
             }
         }
-        if (!moveMade) {
-            gameStatusLabel.setText("Computer cannot move - stalemate?");
-            checkGameState();
+
+        @Override
+        protected void done() {
+            if (computerWorker != this || isCancelled() || !isDisplayable()) return;
+            computerWorker = null;
+            try {
+                SearchResult result = get();
+                int move = bookMove != MoveEncoding.NONE ? bookMove
+                        : result == null ? MoveEncoding.NONE : result.getBestMove();
+                applyComputerMove(move, result, bookMove != MoveEncoding.NONE, ponderHit);
+            } catch (InterruptedException | ExecutionException e) {
+                gameStatusLabel.setText("Computer move failed: " + e.getMessage());
+            }
         }
     }
 
-    private boolean isSafeSquare(Board board, Position pos, Colors playerColor) {
-        for (char x = 'A'; x <= 'H'; x++) {
-            for (int y = 1; y <= 8; y++) {
-                Position attackerPos = new Position(x, y);
-                Piece attacker = board.getPieceAt(attackerPos);
-                if (attacker != null && attacker.getColor() != playerColor) {
-                    List<Position> attackerMoves = attacker.getPossibleMoves(board);
-                    if (attackerMoves.contains(pos)) {
-                        return false;
-                    }
-                }
+    private void applyComputerMove(int move, SearchResult result, boolean fromBook, boolean ponderHit) {
+        Player computer = game.getCurrentPlayer();
+        Board board = game.getBoard();
+        if (move == MoveEncoding.NONE) {
+            gameStatusLabel.setText("Computer cannot move - stalemate?");
+            checkGameState();
+            return;
+        }
+        Position from = Position.of(MoveEncoding.from(move));
+        Position to = Position.of(MoveEncoding.to(move));
+        Piece targetPiece = board.getPieceAt(to);
+        boolean isCapture = targetPiece != null;
+        try {
+            computer.makeMove(from, to, MoveEncoding.promotionChar(move), board, gui);
+            game.addMove(computer, from, to);
+            addMoveToHistory(computer, from, to, isCapture, targetPiece);
+            app.saveGame(game);
+            String moveDesc = from + "-" + to;
+            if (MoveEncoding.isPromotion(move)) {
+                moveDesc += "=" + MoveEncoding.promotionChar(move);
             }
+            if (isCapture) {
+                moveDesc += " (captures " + getPieceName(targetPiece.getType()) + ")";
+            }
+            if (fromBook) {
+                moveDesc += " (book)";
+            }
+            if (ponderHit) {
+                moveDesc += " (ponder hit)";
+            }
+            if (result != null && result.getMateIn() > 0) {
+                moveDesc += " - mate in " + result.getMateIn();
+            }
+            gameStatusLabel.setText("Computer moved: " + moveDesc);
+            boolean gameOver = checkGameState();
+            game.switchPlayer();
+            updateDisplay();
+            if (!gameOver) {
+                startPondering(board, result);
+            }
+        } catch (InvalidMoveException e) {
+            gameStatusLabel.setText("Computer move failed: " + e.getMessage());
         }
-        return true;
     }
 
-    private int getPieceValue(char type) {
-        switch (type) {
-            case 'Q': return 9;
-            case 'R': return 5;
-            case 'B': return 3;
-            case 'N': return 3;
-            case 'P': return 1;
-            default: return 0;
+    private void startPondering(Board board, SearchResult result) {
+        if (!isDisplayable() || game.isComputerTurn() || !game.getDifficulty().ponders()) return;
+        int[] pv = result == null ? new int[0] : result.getPrincipalVariation();
+        int reply = pv.length > 1 ? pv[1] : findBookMove(board, board.getSideToMove());
+        if (reply == MoveEncoding.NONE) {
+            reply = engine.probeReply(board.snapshot());
         }
+        ponderer.start(board.snapshot(), reply, game.getDifficulty().getLimits());
+    }
+
+    private int findBookMove(Board board, Colors color) {
+        if (book == null) return MoveEncoding.NONE;
+        int move = book.probe(board.getZobristKey(), random);
+        if (move == MoveEncoding.NONE) return MoveEncoding.NONE;
+        Position from = Position.of(MoveEncoding.from(move));
+        Position to = Position.of(MoveEncoding.to(move));
+        boolean lastRank = to.getY() == 1 || to.getY() == 8;
+        if (!MoveEncoding.isPromotion(move) && lastRank && board.getPieceAt(from) instanceof Pawn) return MoveEncoding.NONE;
+        return game.getStatus(color).isLegalMove(from, to) ? move : MoveEncoding.NONE;
     }
 
-    private void checkGameState() {
+    private boolean checkGameState() {
         if (game.checkForCheckMate()) {
             Player winner = game.getCurrentPlayer();
             boolean humanWins = !winner.getName().equals("Computer");
@@ -458,7 +479,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 app.endGame(game, false);
                 gui.showGameOverScreen(game, "Defeat by Checkmate!", -300);
             }
-            return;
+            return true;
         }
         if (game.checkForStalemate()) {
             gameStatusLabel.setText("STALEMATE! Draw game.");
@@ -466,13 +487,13 @@ public class GameFrame extends JFrame implements GameObserver {
             int points = human.getPoints();
             app.endGame(game, false);
             gui.showGameOverScreen(game, "Stalemate - Draw", 150);
-            return;
+            return true;
         }
-        Board board = game.getBoard();
-        Player currentPlayer = game.getCurrentPlayer();
-        if (board.isInCheck(currentPlayer.getColor())) {
-            gameStatusLabel.setText("CHECK! " + currentPlayer.getName() + "'s king is under attack!");
+        Player opponent = game.getOpponentPlayer();
+        if (game.getStatus(opponent.getColor()).isInCheck()) {
+            gameStatusLabel.setText("CHECK! " + opponent.getName() + "'s king is under attack!");
         }
+        return false;
     }
 
     private void addMoveToHistory(Player player, Position from, Position to,
@@ -502,15 +523,15 @@ public class GameFrame extends JFrame implements GameObserver {
     private void highlightSquares() {
         Board board = game.getBoard();
         Piece selectedPiece = (selectedPosition != null) ? board.getPieceAt(selectedPosition) : null;
-        boolean inCheck = false;
-        if (game.getCurrentPlayer() != null) {
-            inCheck = board.isInCheck(game.getCurrentPlayer().getColor());
+        Position checkedKing = null;
+        if (game.getCurrentPlayer() != null && game.getStatus().isInCheck()) {
+            checkedKing = board.getKingPosition(game.getCurrentPlayer().getColor());
         }
         for (int row = 0; row < 8; row++) {
             for (int col = 0; col < 8; col++) {
                 char x = (char) ('A' + col);
                 int y = 8 - row;
-                Position pos = new Position(x, y);
+                Position pos = Position.of(x, y);
                 if (selectedPosition != null && pos.equals(selectedPosition)) {
                     squares[row][col].setBackground(SELECTED_COLOR);
                 } else if (highlightedMoves != null && highlightedMoves.contains(pos)) {
@@ -524,9 +545,7 @@ public class GameFrame extends JFrame implements GameObserver {
                         squares[row][col].setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
                     }
                 } else {
-                    Piece piece = board.getPieceAt(pos);
-                    if (inCheck && piece != null && piece.getType() == 'K' &&
-                            piece.getColor() == game.getCurrentPlayer().getColor()) {
+                    if (pos.equals(checkedKing)) {
                         squares[row][col].setBackground(CHECK_WARNING_COLOR);
                         squares[row][col].setBorder(BorderFactory.createLineBorder(Color.RED, 3));
                     } else if ((row + col) % 2 == 0) {
@@ -558,7 +577,7 @@ public class GameFrame extends JFrame implements GameObserver {
             for (int col = 0; col < 8; col++) {
                 char x = (char) ('A' + col);
                 int y = 8 - row;
-                Position pos = new Position(x, y);
+                Position pos = Position.of(x, y);
                 Piece piece = game.getBoard().getPieceAt(pos);
                 if (piece == null) {
                     squares[row][col].setText("");
@@ -566,7 +585,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 } else {
                     squares[row][col].setText(getPieceSymbol(piece));
                     squares[row][col].setToolTipText(getPieceName(piece.getType()) +
-                            " (" + piece.getColor() + ") - Value: " + getPieceValue(piece.getType()) + " points");
+                            " (" + piece.getColor() + ") - Value: " + MaterialLedger.points(piece.getType()) + " points");
                 }
             }
         }
@@ -577,8 +596,7 @@ public class GameFrame extends JFrame implements GameObserver {
         if (!gameStatusLabel.getText().contains("CHECK") &&
                 !gameStatusLabel.getText().contains("CHECKMATE") &&
                 !gameStatusLabel.getText().contains("STALEMATE")) {
-            Board board = game.getBoard();
-            if (board.isInCheck(currentPlayer.getColor())) {
+            if (game.getStatus().isInCheck()) {
                 gameStatusLabel.setText("CHECK! " + currentPlayer.getName() + "'s king is under attack!");
             } else {
                 gameStatusLabel.setText(currentPlayer.getName() + "'s turn");
@@ -623,6 +641,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 "Confirm Resignation", JOptionPane.YES_NO_OPTION,
                 JOptionPane.WARNING_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
+            cancelComputerMove();
             app.resignGame(game);
             gui.showGameOverScreen(game, "Resignation", -150);
         }
@@ -634,6 +653,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 "Save Game", JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
+            cancelComputerMove();
             game.ensureCapturedPiecesInitialized();
             app.saveGame(game);
             gui.showMainMenu();
@@ -656,6 +676,7 @@ public class GameFrame extends JFrame implements GameObserver {
                 "Confirm Exit", JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
+            cancelComputerMove();
             game.ensureCapturedPiecesInitialized();
             app.saveGame(game);
             dispose();
@@ -663,6 +684,12 @@ public class GameFrame extends JFrame implements GameObserver {
         }
     }
 
+    @Override
+    public void dispose() {
+        cancelComputerMove();
+        super.dispose();
+    }
+
     @Override
     public void onMoveMade(Move move) {
         updateDisplay();
@@ -3,6 +3,8 @@ public class Move {
     private Position from;
     private Position to;
     private Piece capturedPiece;
+    private char promotion = Board.NO_PROMOTION;
+    private int encoded;
 
     public Move(String playerColor, String from, String to) {
         this.playerColor = Colors.valueOf(playerColor.toUpperCase());
@@ -18,13 +20,37 @@ public class Move {
         this.capturedPiece = capturedPiece;
     }
 
+    public Move(int encoded) {
+        this.encoded = encoded;
+        this.playerColor = Bitboards.colorOf(MoveEncoding.moverColor(encoded));
+        this.from = Position.of(MoveEncoding.from(encoded));
+        this.to = Position.of(MoveEncoding.to(encoded));
+        this.promotion = MoveEncoding.promotionChar(encoded);
+        if (MoveEncoding.isCapture(encoded)) {
+            int captured = MoveEncoding.captured(encoded);
+            this.capturedPiece = PieceFactory.createPiece(Bitboards.typeChar(captured),
+                    Bitboards.colorOf(MoveEncoding.moverColor(encoded) ^ 1), this.to);
+        }
+    }
+
+    public int getEncoded() {
+        if (encoded != MoveEncoding.NONE || from == null || to == null
+                || from.getIndex() < 0 || to.getIndex() < 0) {
+            return encoded;
+        }
+        int captured = capturedPiece == null ? Bitboards.NO_PIECE : Bitboards.typeIndex(capturedPiece.getType());
+        int promoted = promotion == Board.NO_PROMOTION ? Bitboards.NO_PIECE : Bitboards.typeIndex(promotion);
+        return MoveEncoding.encode(from.getIndex(), to.getIndex(), promoted,
+                captured, Bitboards.colorIndex(playerColor));
+    }
+
     private Position parsePosition(String posStr) {
         if (posStr == null || posStr.length() != 2) {
             return null;
         }
         char x = posStr.charAt(0);
         int y = Character.getNumericValue(posStr.charAt(1));
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
     public Colors getPlayerColor() {
@@ -45,11 +71,24 @@ public class Move {
 
     public void setCapturedPiece(Piece capturedPiece) {
         this.capturedPiece = capturedPiece;
+        this.encoded = MoveEncoding.NONE;
+    }
+
+    public char getPromotion() {
+        return promotion;
+    }
+
+    public void setPromotion(char promotion) {
+        this.promotion = promotion;
+        this.encoded = MoveEncoding.NONE;
     }
 
     @Override
     public String toString() {
         String result = playerColor + ": " + from + "-" + to;
+        if (promotion != Board.NO_PROMOTION) {
+            result += "=" + promotion;
+        }
         if (capturedPiece != null) {
             result += " (captured " + capturedPiece.getType() + ")";
         }
@@ -2,5 +2,5 @@ import java.util.List;
 
 public interface MoveStrategy {
     List<Position> getPossibleMoves(Board board, Position currentPos);
-    boolean canCheckKing(Board board, Position currentPos, Position kingPos);
+    int generateMoves(Board board, int from, int[] moves, int count);
 }
\ No newline at end of file
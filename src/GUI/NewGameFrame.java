@@ -8,12 +8,13 @@ public class NewGameFrame extends JFrame {
     private ChessGUI gui;
     private JTextField playerNameField;
     private JComboBox<String> colorCombo;
+    private JComboBox<Difficulty> difficultyCombo;
 
     public NewGameFrame(Main app, ChessGUI gui) {
         this.app = app;
         this.gui = gui;
         setTitle("Chess - New Game");
-        setSize(400, 300);
+        setSize(400, 340);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null);
         initComponents();
@@ -25,13 +26,17 @@ public class NewGameFrame extends JFrame {
         JLabel titleLabel = new JLabel("Start New Game", SwingConstants.CENTER);
         titleLabel.setFont(new Font("Serif", Font.BOLD, 20));
         mainPanel.add(titleLabel, BorderLayout.NORTH);
-        JPanel formPanel = new JPanel(new GridLayout(3, 2, 10, 10));
+        JPanel formPanel = new JPanel(new GridLayout(4, 2, 10, 10));
         formPanel.add(new JLabel("Player Name:"));
         playerNameField = new JTextField(app.getCurrentUser().getEmail());
         formPanel.add(playerNameField);
         formPanel.add(new JLabel("Your Color:"));
         colorCombo = new JComboBox<>(new String[]{"White", "Black"});
         formPanel.add(colorCombo);
+        formPanel.add(new JLabel("Difficulty:"));
+        difficultyCombo = new JComboBox<>(Difficulty.values());
+        difficultyCombo.setSelectedItem(Difficulty.DEFAULT);
+        formPanel.add(difficultyCombo);
         JButton startButton = new JButton("Start Game");
         startButton.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e) {
@@ -56,7 +61,8 @@ public class NewGameFrame extends JFrame {
             playerName = app.getCurrentUser().getEmail();
         }
         Colors playerColor = (colorCombo.getSelectedIndex() == 0) ? Colors.WHITE : Colors.BLACK;
-        Game game = app.createNewGame(playerName, playerColor);
+        Difficulty difficulty = (Difficulty) difficultyCombo.getSelectedItem();
+        Game game = app.createNewGame(playerName, playerColor, difficulty);
         if (game != null) {
             gui.showGameScreen(game);
         }
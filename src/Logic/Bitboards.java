@@ -0,0 +1,620 @@
+import java.util.Arrays;
+
+public class Bitboards {
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING = 5;
+
+    public static final int NO_PIECE = -1;
+
+    public static final long RANK_1 = 0x00000000000000FFL;
+    public static final long RANK_2 = 0x000000000000FF00L;
+    public static final long RANK_7 = 0x00FF000000000000L;
+    public static final long RANK_8 = 0xFF00000000000000L;
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+    // Rays indexed by direction: N, E, NE, NW (increasing squares), S, W, SW, SE (decreasing squares).
+    private static final long[][] RAYS = new long[8][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final int[][] DIRECTIONS = {
+            {0, 1}, {1, 0}, {1, 1}, {-1, 1},
+            {0, -1}, {-1, 0}, {-1, -1}, {1, -1}
+    };
+
+    private static final long[][] ZOBRIST_PIECES = new long[12][64];
+    private static final long ZOBRIST_SIDE;
+
+    static {
+        // Fixed seed so keys are stable across runs and can be stored in files.
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < 12; i++) {
+            for (int sq = 0; sq < 64; sq++) {
+                seed += 0x9E3779B97F4A7C15L;
+                ZOBRIST_PIECES[i][sq] = mix(seed);
+            }
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        ZOBRIST_SIDE = mix(seed);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    static {
+        int[][] knightSteps = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+        int[][] kingSteps = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        for (int sq = 0; sq < 64; sq++) {
+            int x = sq & 7;
+            int y = sq >>> 3;
+            KNIGHT_ATTACKS[sq] = stepMask(x, y, knightSteps);
+            KING_ATTACKS[sq] = stepMask(x, y, kingSteps);
+            PAWN_ATTACKS[WHITE][sq] = stepMask(x, y, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[BLACK][sq] = stepMask(x, y, new int[][]{{-1, -1}, {1, -1}});
+            for (int dir = 0; dir < 8; dir++) {
+                long ray = 0L;
+                int nx = x + DIRECTIONS[dir][0];
+                int ny = y + DIRECTIONS[dir][1];
+                while (nx >= 0 && nx < 8 && ny >= 0 && ny < 8) {
+                    BETWEEN[sq][ny * 8 + nx] = ray;
+                    ray |= 1L << (ny * 8 + nx);
+                    nx += DIRECTIONS[dir][0];
+                    ny += DIRECTIONS[dir][1];
+                }
+                RAYS[dir][sq] = ray;
+            }
+        }
+    }
+
+    private static long stepMask(int x, int y, int[][] steps) {
+        long mask = 0L;
+        for (int i = 0; i < steps.length; i++) {
+            int nx = x + steps[i][0];
+            int ny = y + steps[i][1];
+            if (nx >= 0 && nx < 8 && ny >= 0 && ny < 8) {
+                mask |= 1L << (ny * 8 + nx);
+            }
+        }
+        return mask;
+    }
+
+    private final long[] pieces = new long[12];
+    private final long[] occupancy = new long[2];
+    private long occupied;
+    // Piece index (color * 6 + type) plus one for each square, zero when empty.
+    private final byte[] mailbox = new byte[64];
+    // Squares of each piece index, with each square's slot in its list so removal is O(1).
+    private final int[][] pieceLists = new int[12][16];
+    private final int[] pieceCounts = new int[12];
+    private final byte[] listSlots = new byte[64];
+    private final int[] kingSquares = {NO_PIECE, NO_PIECE};
+    private final MaterialLedger ledger = new MaterialLedger();
+    private final long[] targetScratch = new long[64];
+    private final long[] pieceAttacks = new long[64];
+    private final long[] attackMaps = new long[2];
+    private boolean attackMapsDirty;
+    private int sideToMove = WHITE;
+    private long key;
+
+    public void clear() {
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = 0L;
+        }
+        for (int i = 0; i < pieceAttacks.length; i++) {
+            pieceAttacks[i] = 0L;
+            mailbox[i] = 0;
+        }
+        for (int i = 0; i < pieceCounts.length; i++) {
+            pieceCounts[i] = 0;
+        }
+        kingSquares[WHITE] = NO_PIECE;
+        kingSquares[BLACK] = NO_PIECE;
+        ledger.clear();
+        occupancy[WHITE] = 0L;
+        occupancy[BLACK] = 0L;
+        occupied = 0L;
+        attackMaps[WHITE] = 0L;
+        attackMaps[BLACK] = 0L;
+        attackMapsDirty = false;
+        sideToMove = WHITE;
+        key = 0L;
+    }
+
+    public void put(int color, int type, int square) {
+        long bit = 1L << square;
+        pieces[color * 6 + type] |= bit;
+        occupancy[color] |= bit;
+        occupied |= bit;
+        mailbox[square] = (byte) (color * 6 + type + 1);
+        addToList(color * 6 + type, square);
+        ledger.add(color, type, square);
+        if (type == KING) kingSquares[color] = square;
+        key ^= ZOBRIST_PIECES[color * 6 + type][square];
+        refreshSlidersThrough(square);
+        pieceAttacks[square] = attacksFrom(color, type, square, occupied);
+        attackMapsDirty = true;
+    }
+
+    public void remove(int color, int type, int square) {
+        long bit = ~(1L << square);
+        pieces[color * 6 + type] &= bit;
+        occupancy[color] &= bit;
+        occupied &= bit;
+        mailbox[square] = 0;
+        removeFromList(color * 6 + type, square);
+        ledger.remove(color, type, square);
+        if (type == KING) {
+            kingSquares[color] = pieceCounts[color * 6 + KING] > 0 ? pieceLists[color * 6 + KING][0] : NO_PIECE;
+        }
+        key ^= ZOBRIST_PIECES[color * 6 + type][square];
+        pieceAttacks[square] = 0L;
+        refreshSlidersThrough(square);
+        attackMapsDirty = true;
+    }
+
+    public void move(int color, int type, int from, int to) {
+        remove(color, type, from);
+        put(color, type, to);
+    }
+
+    public void makeMove(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        int color = colorAt(from);
+        int type = typeAt(from);
+        if (MoveEncoding.isCapture(move)) {
+            remove(color ^ 1, MoveEncoding.captured(move), to);
+        }
+        remove(color, type, from);
+        put(color, MoveEncoding.isPromotion(move) ? MoveEncoding.promotion(move) : type, to);
+        flipSide();
+    }
+
+    public void unmakeMove(int move) {
+        int from = MoveEncoding.from(move);
+        int to = MoveEncoding.to(move);
+        int color = colorAt(to);
+        int type = typeAt(to);
+        flipSide();
+        remove(color, type, to);
+        put(color, MoveEncoding.isPromotion(move) ? PAWN : type, from);
+        if (MoveEncoding.isCapture(move)) {
+            put(color ^ 1, MoveEncoding.captured(move), to);
+        }
+    }
+
+    private void addToList(int piece, int square) {
+        int[] list = pieceLists[piece];
+        int count = pieceCounts[piece];
+        if (count == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            pieceLists[piece] = list;
+        }
+        list[count] = square;
+        listSlots[square] = (byte) count;
+        pieceCounts[piece] = count + 1;
+    }
+
+    private void removeFromList(int piece, int square) {
+        int[] list = pieceLists[piece];
+        int last = list[--pieceCounts[piece]];
+        int slot = listSlots[square];
+        list[slot] = last;
+        listSlots[last] = (byte) slot;
+    }
+
+    private void refreshSlidersThrough(int square) {
+        long bit = 1L << square;
+        long sliders = pieces[BISHOP] | pieces[ROOK] | pieces[QUEEN]
+                | pieces[6 + BISHOP] | pieces[6 + ROOK] | pieces[6 + QUEEN];
+        sliders &= ~bit;
+        while (sliders != 0) {
+            int slider = Long.numberOfTrailingZeros(sliders);
+            sliders &= sliders - 1;
+            if ((pieceAttacks[slider] & bit) != 0) {
+                pieceAttacks[slider] = attacksFrom(colorAt(slider), typeAt(slider), slider, occupied);
+            }
+        }
+    }
+
+    static long attacksFrom(int color, int type, int square, long occ) {
+        switch (type) {
+            case PAWN:   return PAWN_ATTACKS[color][square];
+            case KNIGHT: return KNIGHT_ATTACKS[square];
+            case BISHOP: return bishopAttacks(square, occ);
+            case ROOK:   return rookAttacks(square, occ);
+            case QUEEN:  return queenAttacks(square, occ);
+            case KING:   return KING_ATTACKS[square];
+            default:     return 0L;
+        }
+    }
+
+    public long getAttackMap(int color) {
+        if (attackMapsDirty) {
+            for (int c = WHITE; c <= BLACK; c++) {
+                long map = 0L;
+                long own = occupancy[c];
+                while (own != 0) {
+                    map |= pieceAttacks[Long.numberOfTrailingZeros(own)];
+                    own &= own - 1;
+                }
+                attackMaps[c] = map;
+            }
+            attackMapsDirty = false;
+        }
+        return attackMaps[color];
+    }
+
+    public long getPieceAttacks(int square) {
+        return pieceAttacks[square];
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(int color) {
+        if (color != sideToMove) flipSide();
+    }
+
+    public void flipSide() {
+        sideToMove ^= 1;
+        key ^= ZOBRIST_SIDE;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public long computeKey() {
+        long fresh = sideToMove == BLACK ? ZOBRIST_SIDE : 0L;
+        for (int i = 0; i < pieces.length; i++) {
+            long bits = pieces[i];
+            while (bits != 0) {
+                fresh ^= ZOBRIST_PIECES[i][Long.numberOfTrailingZeros(bits)];
+                bits &= bits - 1;
+            }
+        }
+        return fresh;
+    }
+
+    public long getPieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    public long getOccupancy(int color) {
+        return occupancy[color];
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public boolean isOccupied(int square) {
+        return (occupied & (1L << square)) != 0;
+    }
+
+    public int colorAt(int square) {
+        int piece = mailbox[square] - 1;
+        return piece < 0 ? NO_PIECE : piece / 6;
+    }
+
+    public int typeAt(int square) {
+        int piece = mailbox[square] - 1;
+        return piece < 0 ? NO_PIECE : piece % 6;
+    }
+
+    public MaterialLedger getLedger() {
+        return ledger;
+    }
+
+    public int kingSquare(int color) {
+        return kingSquares[color];
+    }
+
+    public int getPieceCount(int color, int type) {
+        return pieceCounts[color * 6 + type];
+    }
+
+    public int getPieceSquare(int color, int type, int index) {
+        return pieceLists[color * 6 + type][index];
+    }
+
+    public boolean isSquareAttacked(int square, int attackerColor) {
+        return (getAttackMap(attackerColor) & (1L << square)) != 0;
+    }
+
+    private boolean isSquareAttacked(int square, int attackerColor, long occ) {
+        int base = attackerColor * 6;
+        if ((PAWN_ATTACKS[attackerColor ^ 1][square] & pieces[base + PAWN]) != 0) return true;
+        if ((KNIGHT_ATTACKS[square] & pieces[base + KNIGHT]) != 0) return true;
+        if ((KING_ATTACKS[square] & pieces[base + KING]) != 0) return true;
+        long queens = pieces[base + QUEEN];
+        if ((bishopAttacks(square, occ) & (pieces[base + BISHOP] | queens)) != 0) return true;
+        return (rookAttacks(square, occ) & (pieces[base + ROOK] | queens)) != 0;
+    }
+
+    public boolean leavesKingInCheck(int from, int to) {
+        int color = colorAt(from);
+        if (color == NO_PIECE) return false;
+        int type = typeAt(from);
+        int capturedType = typeAt(to);
+        int enemy = color ^ 1;
+        long fromBit = 1L << from;
+        long toBit = 1L << to;
+        int moverIndex = color * 6 + type;
+        int capturedIndex = capturedType == NO_PIECE ? -1 : enemy * 6 + capturedType;
+        long savedMover = pieces[moverIndex];
+        long savedCaptured = capturedIndex < 0 ? 0L : pieces[capturedIndex];
+        pieces[moverIndex] = (savedMover & ~fromBit) | toBit;
+        if (capturedIndex >= 0) pieces[capturedIndex] = savedCaptured & ~toBit;
+        long occ = (occupied & ~fromBit) | toBit;
+        int king = type == KING ? to : kingSquare(color);
+        boolean inCheck = king != NO_PIECE && isSquareAttacked(king, enemy, occ);
+        pieces[moverIndex] = savedMover;
+        if (capturedIndex >= 0) pieces[capturedIndex] = savedCaptured;
+        return inCheck;
+    }
+
+    public long attackersTo(int square, int attackerColor, long occ) {
+        int base = attackerColor * 6;
+        long queens = pieces[base + QUEEN];
+        return (PAWN_ATTACKS[attackerColor ^ 1][square] & pieces[base + PAWN])
+                | (KNIGHT_ATTACKS[square] & pieces[base + KNIGHT])
+                | (KING_ATTACKS[square] & pieces[base + KING])
+                | (bishopAttacks(square, occ) & (pieces[base + BISHOP] | queens))
+                | (rookAttacks(square, occ) & (pieces[base + ROOK] | queens));
+    }
+
+    public long checkers(int color) {
+        int king = kingSquare(color);
+        if (king == NO_PIECE || !isSquareAttacked(king, color ^ 1)) return 0L;
+        return attackersTo(king, color ^ 1, occupied);
+    }
+
+    public boolean isInCheck(int color) {
+        long king = pieces[color * 6 + KING];
+        return (getAttackMap(color ^ 1) & king) != 0;
+    }
+
+    public int generateLegalTargets(int color, long[] targets) {
+        int enemy = color ^ 1;
+        long own = occupancy[color];
+        long enemyKing = pieces[enemy * 6 + KING];
+        long capturable = occupancy[enemy] & ~enemyKing;
+        int king = kingSquare(color);
+        long enemyAttacks = getAttackMap(enemy);
+        long checkers = 0L;
+        long checkMask = ~0L;
+        long pinned = 0L;
+        if (king != NO_PIECE) {
+            checkers = checkers(color);
+            if (checkers != 0) {
+                checkMask = (checkers & (checkers - 1)) != 0
+                        ? 0L
+                        : checkers | BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+            }
+            long enemyQueens = pieces[enemy * 6 + QUEEN];
+            long snipers = (rookAttacks(king, 0L) & (pieces[enemy * 6 + ROOK] | enemyQueens))
+                    | (bishopAttacks(king, 0L) & (pieces[enemy * 6 + BISHOP] | enemyQueens));
+            while (snipers != 0) {
+                int sniper = Long.numberOfTrailingZeros(snipers);
+                snipers &= snipers - 1;
+                long blockers = BETWEEN[king][sniper] & occupied;
+                if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & own) != 0) {
+                    pinned |= blockers;
+                }
+            }
+        }
+
+        int count = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            targets[sq] = 0L;
+        }
+        long movers = own;
+        while (movers != 0) {
+            int from = Long.numberOfTrailingZeros(movers);
+            movers &= movers - 1;
+            long fromBit = 1L << from;
+            long moves;
+            if ((pieces[color * 6 + KING] & fromBit) != 0) {
+                moves = KING_ATTACKS[from] & ~own & ~enemyKing;
+                long kingless = occupied & ~fromBit;
+                long safe = 0L;
+                while (moves != 0) {
+                    int to = Long.numberOfTrailingZeros(moves);
+                    long toBit = 1L << to;
+                    moves &= moves - 1;
+                    if ((enemyAttacks & toBit) != 0) continue;
+                    // Squares behind the king on a checking ray are hidden from the map by the king itself.
+                    if (checkers == 0 || !isSquareAttacked(to, enemy, kingless)) safe |= toBit;
+                }
+                targets[from] = safe;
+                count += Long.bitCount(safe);
+                continue;
+            }
+            if ((pieces[color * 6 + PAWN] & fromBit) != 0) {
+                moves = pawnPushes(color, from) | (PAWN_ATTACKS[color][from] & capturable);
+            } else if ((pieces[color * 6 + KNIGHT] & fromBit) != 0) {
+                moves = KNIGHT_ATTACKS[from] & ~own & ~enemyKing;
+            } else if ((pieces[color * 6 + BISHOP] & fromBit) != 0) {
+                moves = bishopAttacks(from, occupied) & ~own & ~enemyKing;
+            } else if ((pieces[color * 6 + ROOK] & fromBit) != 0) {
+                moves = rookAttacks(from, occupied) & ~own & ~enemyKing;
+            } else {
+                moves = queenAttacks(from, occupied) & ~own & ~enemyKing;
+            }
+            moves &= checkMask;
+            if ((pinned & fromBit) != 0) {
+                moves &= lineThrough(king, from);
+            }
+            targets[from] = moves;
+            count += Long.bitCount(moves);
+        }
+        return count;
+    }
+
+    public int generateLegalMoves(int color, int[] moves, int start) {
+        return generateLegalMoves(color, moves, start, false);
+    }
+
+    public int generateLegalCaptures(int color, int[] moves, int start) {
+        return generateLegalMoves(color, moves, start, true);
+    }
+
+    private int generateLegalMoves(int color, int[] moves, int start, boolean capturesOnly) {
+        generateLegalTargets(color, targetScratch);
+        int count = start;
+        long movers = occupancy[color];
+        long promotionRanks = RANK_1 | RANK_8;
+        while (movers != 0) {
+            int from = Long.numberOfTrailingZeros(movers);
+            movers &= movers - 1;
+            long targets = targetScratch[from];
+            boolean pawn = (pieces[color * 6 + PAWN] & (1L << from)) != 0;
+            if (capturesOnly) {
+                targets &= occupancy[color ^ 1] | (pawn ? promotionRanks : 0L);
+            }
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                int captured = typeAt(to);
+                if (pawn && (promotionRanks & (1L << to)) != 0) {
+                    for (int promotion = QUEEN; promotion >= KNIGHT; promotion--) {
+                        moves[count++] = MoveEncoding.encode(from, to, promotion, captured, color);
+                    }
+                } else {
+                    moves[count++] = MoveEncoding.encode(from, to, NO_PIECE, captured, color);
+                }
+            }
+        }
+        return count;
+    }
+
+    private long pawnPushes(int color, int from) {
+        long pushes = 0L;
+        if (color == WHITE) {
+            if (from >= 56) return 0L;
+            long single = (1L << (from + 8)) & ~occupied;
+            pushes |= single;
+            if (single != 0 && (RANK_2 & (1L << from)) != 0) {
+                pushes |= (1L << (from + 16)) & ~occupied;
+            }
+        } else {
+            if (from < 8) return 0L;
+            long single = (1L << (from - 8)) & ~occupied;
+            pushes |= single;
+            if (single != 0 && (RANK_7 & (1L << from)) != 0) {
+                pushes |= (1L << (from - 16)) & ~occupied;
+            }
+        }
+        return pushes;
+    }
+
+    private static long lineThrough(int king, int square) {
+        for (int dir = 0; dir < 8; dir++) {
+            if ((RAYS[dir][king] & (1L << square)) != 0) {
+                return RAYS[dir][king];
+            }
+        }
+        return 0L;
+    }
+
+    public static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawnAttacks(int color, int square) {
+        return PAWN_ATTACKS[color][square];
+    }
+
+    public static long bishopAttacks(int square, long occ) {
+        return positiveRay(2, square, occ) | positiveRay(3, square, occ)
+                | negativeRay(6, square, occ) | negativeRay(7, square, occ);
+    }
+
+    public static long rookAttacks(int square, long occ) {
+        return positiveRay(0, square, occ) | positiveRay(1, square, occ)
+                | negativeRay(4, square, occ) | negativeRay(5, square, occ);
+    }
+
+    public static long queenAttacks(int square, long occ) {
+        return bishopAttacks(square, occ) | rookAttacks(square, occ);
+    }
+
+    private static long positiveRay(int dir, int square, long occ) {
+        long ray = RAYS[dir][square];
+        long blockers = ray & occ;
+        if (blockers != 0) {
+            ray ^= RAYS[dir][Long.numberOfTrailingZeros(blockers)];
+        }
+        return ray;
+    }
+
+    private static long negativeRay(int dir, int square, long occ) {
+        long ray = RAYS[dir][square];
+        long blockers = ray & occ;
+        if (blockers != 0) {
+            ray ^= RAYS[dir][63 - Long.numberOfLeadingZeros(blockers)];
+        }
+        return ray;
+    }
+
+    public static int colorIndex(Colors color) {
+        return color == Colors.WHITE ? WHITE : BLACK;
+    }
+
+    public static Colors colorOf(int color) {
+        return color == WHITE ? Colors.WHITE : Colors.BLACK;
+    }
+
+    public static int typeIndex(char type) {
+        switch (type) {
+            case 'P': return PAWN;
+            case 'N': return KNIGHT;
+            case 'B': return BISHOP;
+            case 'R': return ROOK;
+            case 'Q': return QUEEN;
+            case 'K': return KING;
+            default:  return NO_PIECE;
+        }
+    }
+
+    public static char typeChar(int type) {
+        switch (type) {
+            case PAWN:   return 'P';
+            case KNIGHT: return 'N';
+            case BISHOP: return 'B';
+            case ROOK:   return 'R';
+            case QUEEN:  return 'Q';
+            case KING:   return 'K';
+            default:     return '?';
+        }
+    }
+
+    public static int squareOf(Position position) {
+        return position == null ? NO_PIECE : position.getIndex();
+    }
+
+    public static Position positionOf(int square) {
+        return Position.of(square);
+    }
+}
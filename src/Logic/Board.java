@@ -1,46 +1,100 @@
 import java.util.ArrayList;
 import java.util.List;
-import java.util.TreeSet;
 import javax.swing.JOptionPane;
 
 public class Board {
-    private TreeSet<ChessPair<Position, Piece>> pieces = new TreeSet<>();
+    public static final char NO_PROMOTION = '\0';
+
+    private Piece[] squares = new Piece[64];
+    private Bitboards bitboards = new Bitboards();
+    private UndoRecord[] undoStack = new UndoRecord[64];
+    private int undoCount = 0;
+    private long[] legalTargets = new long[64];
 
     public void initialize() {
-        pieces.clear();
-        pieces.add(new ChessPair<>(new Position('A', 1), PieceFactory.createPiece('R', Colors.WHITE, new Position('A', 1))));
-        pieces.add(new ChessPair<>(new Position('B', 1), PieceFactory.createPiece('N', Colors.WHITE, new Position('B', 1))));
-        pieces.add(new ChessPair<>(new Position('C', 1), PieceFactory.createPiece('B', Colors.WHITE, new Position('C', 1))));
-        pieces.add(new ChessPair<>(new Position('D', 1), PieceFactory.createPiece('Q', Colors.WHITE, new Position('D', 1))));
-        pieces.add(new ChessPair<>(new Position('E', 1), PieceFactory.createPiece('K', Colors.WHITE, new Position('E', 1))));
-        pieces.add(new ChessPair<>(new Position('F', 1), PieceFactory.createPiece('B', Colors.WHITE, new Position('F', 1))));
-        pieces.add(new ChessPair<>(new Position('G', 1), PieceFactory.createPiece('N', Colors.WHITE, new Position('G', 1))));
-        pieces.add(new ChessPair<>(new Position('H', 1), PieceFactory.createPiece('R', Colors.WHITE, new Position('H', 1))));
+        clear();
+        setUp('R', Colors.WHITE, Position.of('A', 1));
+        setUp('N', Colors.WHITE, Position.of('B', 1));
+        setUp('B', Colors.WHITE, Position.of('C', 1));
+        setUp('Q', Colors.WHITE, Position.of('D', 1));
+        setUp('K', Colors.WHITE, Position.of('E', 1));
+        setUp('B', Colors.WHITE, Position.of('F', 1));
+        setUp('N', Colors.WHITE, Position.of('G', 1));
+        setUp('R', Colors.WHITE, Position.of('H', 1));
         for (char c = 'A'; c <= 'H'; c++) {
-            pieces.add(new ChessPair<>(new Position(c, 2), PieceFactory.createPiece('P', Colors.WHITE, new Position(c, 2))));
-            pieces.add(new ChessPair<>(new Position(c, 7), PieceFactory.createPiece('P', Colors.BLACK, new Position(c, 7))));
+            setUp('P', Colors.WHITE, Position.of(c, 2));
+            setUp('P', Colors.BLACK, Position.of(c, 7));
         }
-        pieces.add(new ChessPair<>(new Position('A', 8), PieceFactory.createPiece('R', Colors.BLACK, new Position('A', 8))));
-        pieces.add(new ChessPair<>(new Position('B', 8), PieceFactory.createPiece('N', Colors.BLACK, new Position('B', 8))));
-        pieces.add(new ChessPair<>(new Position('C', 8), PieceFactory.createPiece('B', Colors.BLACK, new Position('C', 8))));
-        pieces.add(new ChessPair<>(new Position('D', 8), PieceFactory.createPiece('Q', Colors.BLACK, new Position('D', 8))));
-        pieces.add(new ChessPair<>(new Position('E', 8), PieceFactory.createPiece('K', Colors.BLACK, new Position('E', 8))));
-        pieces.add(new ChessPair<>(new Position('F', 8), PieceFactory.createPiece('B', Colors.BLACK, new Position('F', 8))));
-        pieces.add(new ChessPair<>(new Position('G', 8), PieceFactory.createPiece('N', Colors.BLACK, new Position('G', 8))));
-        pieces.add(new ChessPair<>(new Position('H', 8), PieceFactory.createPiece('R', Colors.BLACK, new Position('H', 8))));
+        setUp('R', Colors.BLACK, Position.of('A', 8));
+        setUp('N', Colors.BLACK, Position.of('B', 8));
+        setUp('B', Colors.BLACK, Position.of('C', 8));
+        setUp('Q', Colors.BLACK, Position.of('D', 8));
+        setUp('K', Colors.BLACK, Position.of('E', 8));
+        setUp('B', Colors.BLACK, Position.of('F', 8));
+        setUp('N', Colors.BLACK, Position.of('G', 8));
+        setUp('R', Colors.BLACK, Position.of('H', 8));
+    }
+
+    private void setUp(char type, Colors color, Position position) {
+        addPiece(PieceFactory.createPiece(type, color, position), position);
     }
 
     public void clear() {
-        pieces.clear();
+        for (int i = 0; i < squares.length; i++) {
+            squares[i] = null;
+        }
+        bitboards.clear();
+        undoCount = 0;
     }
 
     public void addPiece(Piece piece, Position position) {
         if (piece == null || position == null) return;
         piece.setPosition(position);
-        pieces.add(new ChessPair<>(position, piece));
+        place(piece, Bitboards.squareOf(position));
+    }
+
+    public Bitboards getBitboards() {
+        return bitboards;
+    }
+
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(bitboards);
+    }
+
+    public long getZobristKey() {
+        return bitboards.getKey();
+    }
+
+    public Colors getSideToMove() {
+        return Bitboards.colorOf(bitboards.getSideToMove());
+    }
+
+    public void setSideToMove(Colors color) {
+        bitboards.setSideToMove(Bitboards.colorIndex(color));
+    }
+
+    private void place(Piece piece, int square) {
+        if (square < 0) return;
+        Piece previous = squares[square];
+        if (previous != null) take(square);
+        squares[square] = piece;
+        bitboards.put(Bitboards.colorIndex(piece.getColor()), Bitboards.typeIndex(piece.getType()), square);
+    }
+
+    private Piece take(int square) {
+        if (square < 0) return null;
+        Piece piece = squares[square];
+        if (piece == null) return null;
+        squares[square] = null;
+        bitboards.remove(Bitboards.colorIndex(piece.getColor()), Bitboards.typeIndex(piece.getType()), square);
+        return piece;
     }
 
     public void movePiece(Position from, Position to, Player movingPlayer, ChessGUI gui) throws InvalidMoveException {
+        movePiece(from, to, NO_PROMOTION, movingPlayer, gui);
+    }
+
+    public void movePiece(Position from, Position to, char promotion, Player movingPlayer, ChessGUI gui) throws InvalidMoveException {
         if (!isValidMove(from, to)) {
             throw new InvalidMoveException("Invalid move from " + from + " to " + to);
         }
@@ -55,209 +109,200 @@ public class Board {
             throw new InvalidMoveException("Cannot capture the king");
         }
 
-        ChessPair<Position, Piece> fromPair = findPairByPositionAndPiece(from, movingPiece);
-        if (fromPair != null) pieces.remove(fromPair);
-
-        if (targetPiece != null) {
-            ChessPair<Position, Piece> targetPair = findPairByPositionAndPiece(to, targetPiece);
-            if (targetPair != null) {
-                pieces.remove(targetPair);
-                if (movingPlayer != null && targetPiece.getColor() != movingPiece.getColor()) {
-                    movingPlayer.addCapturedPiece(targetPiece);
-                }
-            }
+        makeMove(Bitboards.squareOf(from), Bitboards.squareOf(to), promotion);
+        if (targetPiece != null && movingPlayer != null && targetPiece.getColor() != movingPiece.getColor()) {
+            movingPlayer.addCapturedPiece(targetPiece);
         }
 
-        movingPiece.setPosition(to);
-        pieces.add(new ChessPair<>(to, movingPiece));
-
         if (movingPiece instanceof Pawn) {
             Pawn pawn = (Pawn) movingPiece;
-            pawn.setFirstMove(false);
             int row = to.getY();
             boolean isWhite = pawn.getColor() == Colors.WHITE;
 
             if ((isWhite && row == 8) || (!isWhite && row == 1)) {
-                if (movingPlayer != null && "Computer".equals(movingPlayer.getName())) {
-                    promotePawnAutomatically(to, pawn);
-                } else {
-                    promotePawnWithDialog(to, pawn, gui);
-                }
+                promotePawnWithDialog(to, pawn, gui);
             }
         }
     }
 
-    private void promotePawnAutomatically(Position to, Pawn pawn) {
-        ChessPair<Position, Piece> pawnPair = findPairByPositionAndPiece(to, pawn);
-        if (pawnPair == null) return;
-        pieces.remove(pawnPair);
-        Piece promotedPiece = PieceFactory.createPiece('Q', pawn.getColor(), to);
-        pieces.add(new ChessPair<>(to, promotedPiece));
-        System.out.println("Computer pawn automatically promoted to Queen at " + to);
+    private void promotePawnWithDialog(Position to, Pawn pawn, ChessGUI gui) {
+        int square = Bitboards.squareOf(to);
+        if (square < 0 || squares[square] != pawn) return;
+        Object[] options = {"Queen", "Rook", "Bishop", "Knight"};
+        int choice = JOptionPane.showOptionDialog(
+                null,
+                "Promote your pawn to:",
+                "Pawn Promotion",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options[0]
+        );
+        char pieceChar = 'Q';
+        switch (choice) {
+            case 0: pieceChar = 'Q'; break;
+            case 1: pieceChar = 'R'; break;
+            case 2: pieceChar = 'B'; break;
+            case 3: pieceChar = 'N'; break;
+            default: pieceChar = 'Q'; break;
+        }
+        promote(square, pieceChar);
+    }
+
+    public void makeMove(Position from, Position to, char promotion) {
+        makeMove(Bitboards.squareOf(from), Bitboards.squareOf(to), promotion);
     }
 
-    private void promotePawnWithDialog(Position to, Pawn pawn, ChessGUI gui) {
-        ChessPair<Position, Piece> pawnPair = findPairByPositionAndPiece(to, pawn);
-        if (pawnPair == null) return;
-        final Position finalTo = to;
-        final Pawn finalPawn = pawn;
-        final ChessPair<Position, Piece> finalPawnPair = pawnPair;
-
-        javax.swing.SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                Object[] options = {"Queen", "Rook", "Bishop", "Knight"};
-                int choice = JOptionPane.showOptionDialog(
-                        null,
-                        "Promote your pawn to:",
-                        "Pawn Promotion",
-                        JOptionPane.DEFAULT_OPTION,
-                        JOptionPane.QUESTION_MESSAGE,
-                        null,
-                        options,
-                        options[0]
-                );
-                char pieceChar = 'Q';
-                switch (choice) {
-                    case 0: pieceChar = 'Q'; break;
-                    case 1: pieceChar = 'R'; break;
-                    case 2: pieceChar = 'B'; break;
-                    case 3: pieceChar = 'N'; break;
-                    default: pieceChar = 'Q'; break;
-                }
-                pieces.remove(finalPawnPair);
-                Piece promotedPiece = PieceFactory.createPiece(
-                        pieceChar,
-                        finalPawn.getColor(),
-                        finalTo
-                );
-                pieces.add(new ChessPair<>(finalTo, promotedPiece));
-            }
-        });
+    public void makeMove(int move) {
+        makeMove(MoveEncoding.from(move), MoveEncoding.to(move), MoveEncoding.promotionChar(move));
     }
 
-    public boolean isValidMove(Position from, Position to) {
-        if (to.getX() < 'A' || to.getX() > 'H' || to.getY() < 1 || to.getY() > 8) return false;
-        if (from.equals(to)) return false;
-        Piece piece = getPieceAt(from);
-        if (piece == null) return false;
-        Piece target = getPieceAt(to);
-        if (target != null && target.getColor() == piece.getColor()) return false;
-        List<Position> possibleMoves = piece.getPossibleMoves(this);
-        if (!possibleMoves.contains(to)) return false;
-        return !wouldLeaveKingInCheck(from, to, piece.getColor());
+    public int generateLegalMoves(int[] moves, int start) {
+        return bitboards.generateLegalMoves(bitboards.getSideToMove(), moves, start);
     }
 
-    private boolean wouldLeaveKingInCheck(Position from, Position to, Colors playerColor) {
-        Piece movingPiece = getPieceAt(from);
-        if (movingPiece == null) return false;
-        Piece targetPiece = getPieceAt(to);
-        ChessPair<Position, Piece> fromPair = findPairByPositionAndPiece(from, movingPiece);
-        if (fromPair != null) pieces.remove(fromPair);
-        if (targetPiece != null) {
-            ChessPair<Position, Piece> toPair = findPairByPositionAndPiece(to, targetPiece);
-            if (toPair != null) pieces.remove(toPair);
+    // promotion is 'Q', 'R', 'B' or 'N'; NO_PROMOTION leaves a pawn on the last rank for movePiece to ask about.
+    public void makeMove(int from, int to, char promotion) {
+        Piece moved = squares[from];
+        if (moved == null) return;
+        if (undoCount == undoStack.length) {
+            UndoRecord[] grown = new UndoRecord[undoStack.length * 2];
+            System.arraycopy(undoStack, 0, grown, 0, undoCount);
+            undoStack = grown;
         }
-        movingPiece.setPosition(to);
-        pieces.add(new ChessPair<>(to, movingPiece));
-        Position kingPos = findKingPosition(playerColor);
-        boolean inCheck = kingPos != null && isPositionAttacked(kingPos, playerColor);
-        pieces.remove(new ChessPair<>(to, movingPiece));
-        movingPiece.setPosition(from);
-        pieces.add(new ChessPair<>(from, movingPiece));
-        if (targetPiece != null) {
-            pieces.add(new ChessPair<>(to, targetPiece));
+        UndoRecord record = undoStack[undoCount];
+        if (record == null) {
+            record = new UndoRecord();
+            undoStack[undoCount] = record;
         }
-        return inCheck;
+        undoCount++;
+        boolean firstMove = moved instanceof Pawn && ((Pawn) moved).isFirstMove();
+        Piece captured = take(to);
+        record.set(from, to, moved, captured, firstMove);
+        take(from);
+        moved.setPosition(Bitboards.positionOf(to));
+        place(moved, to);
+        if (moved instanceof Pawn) {
+            ((Pawn) moved).setFirstMove(false);
+            int rank = to >>> 3;
+            if (promotion != NO_PROMOTION && (rank == 0 || rank == 7)) {
+                promote(to, promotion);
+            }
+        }
+        bitboards.flipSide();
     }
 
-    private Position findKingPosition(Colors color) {
-        for (ChessPair<Position, Piece> pair : pieces) {
-            if (pair.getValue().getType() == 'K' && pair.getValue().getColor() == color) {
-                return pair.getKey();
-            }
+    public boolean unmakeMove() {
+        if (undoCount == 0) return false;
+        UndoRecord record = undoStack[--undoCount];
+        Piece moved = record.moved;
+        bitboards.flipSide();
+        take(record.to);
+        if (moved instanceof Pawn) {
+            ((Pawn) moved).setFirstMove(record.firstMove);
         }
-        return null;
+        moved.setPosition(Bitboards.positionOf(record.from));
+        place(moved, record.from);
+        if (record.captured != null) {
+            place(record.captured, record.to);
+        }
+        return true;
     }
 
-    private boolean isPositionAttacked(Position pos, Colors defenderColor) {
-        for (ChessPair<Position, Piece> pair : pieces) {
-            Piece p = pair.getValue();
-            if (p.getColor() != defenderColor && p.checkForCheck(this, pos)) {
-                return true;
-            }
+    public int getUndoDepth() {
+        return undoCount;
+    }
+
+    public UndoRecord getLastUndo() {
+        return undoCount == 0 ? null : undoStack[undoCount - 1];
+    }
+
+    private void promote(int square, char type) {
+        Piece pawn = squares[square];
+        if (!(pawn instanceof Pawn)) return;
+        UndoRecord record = getLastUndo();
+        boolean recorded = record != null && record.to == square && record.moved == pawn;
+        Piece promoted = recorded ? record.cachedPromotion(type, pawn.getColor()) : null;
+        if (promoted == null) {
+            promoted = PieceFactory.createPiece(type, pawn.getColor(), pawn.getPosition());
+            if (recorded) record.cachePromotion(promoted);
+        } else {
+            promoted.setPosition(pawn.getPosition());
+        }
+        if (recorded) {
+            record.promoted = promoted;
+            record.promotion = true;
         }
-        return false;
+        place(promoted, square);
+    }
+
+    public boolean isValidMove(Position from, Position to) {
+        int fromSquare = Bitboards.squareOf(from);
+        int toSquare = Bitboards.squareOf(to);
+        if (fromSquare < 0 || toSquare < 0) return false;
+        Piece piece = squares[fromSquare];
+        if (piece == null) return false;
+        bitboards.generateLegalTargets(Bitboards.colorIndex(piece.getColor()), legalTargets);
+        return (legalTargets[fromSquare] & (1L << toSquare)) != 0;
     }
 
     public Piece getPieceAt(Position position) {
-        for (ChessPair<Position, Piece> pair : pieces) {
-            if (pair.getKey().equals(position)) {
-                return pair.getValue();
-            }
-        }
-        return null;
+        int square = Bitboards.squareOf(position);
+        return square < 0 ? null : squares[square];
+    }
+
+    public Piece getPieceAt(int square) {
+        return squares[square];
     }
 
     public List<ChessPair<Position, Piece>> getAllPieces() {
-        return new ArrayList<>(pieces);
+        List<ChessPair<Position, Piece>> result = new ArrayList<>();
+        long occupied = bitboards.getOccupied();
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            result.add(new ChessPair<>(Bitboards.positionOf(square), squares[square]));
+        }
+        return result;
+    }
+
+    public Position getKingPosition(Colors color) {
+        int square = bitboards.kingSquare(Bitboards.colorIndex(color));
+        return square < 0 ? null : Bitboards.positionOf(square);
     }
 
     public boolean isCheckmate(Colors playerColor) {
-        Position kingPosition = findKingPosition(playerColor);
-        if (kingPosition == null) return false;
-        if (!isPositionAttacked(kingPosition, playerColor)) return false;
-        List<ChessPair<Position, Piece>> piecesCopy = new ArrayList<>(pieces);
-        for (ChessPair<Position, Piece> pair : piecesCopy) {
-            Piece piece = pair.getValue();
-            if (piece.getColor() == playerColor) {
-                List<Position> moves = piece.getPossibleMoves(this);
-                for (Position move : moves) {
-                    if (!wouldLeaveKingInCheck(pair.getKey(), move, playerColor)) return false;
-                }
-            }
-        }
-        return true;
+        int color = Bitboards.colorIndex(playerColor);
+        if (bitboards.kingSquare(color) < 0 || !bitboards.isInCheck(color)) return false;
+        return bitboards.generateLegalTargets(color, legalTargets) == 0;
     }
 
     public boolean isStalemate(Colors playerColor) {
-        Position kingPosition = findKingPosition(playerColor);
-        if (kingPosition == null) return false;
-        if (isPositionAttacked(kingPosition, playerColor)) return false;
-        List<ChessPair<Position, Piece>> piecesCopy = new ArrayList<>(pieces);
-        for (ChessPair<Position, Piece> pair : piecesCopy) {
-            Piece piece = pair.getValue();
-            if (piece.getColor() == playerColor) {
-                List<Position> moves = piece.getPossibleMoves(this);
-                for (Position move : moves) {
-                    if (!wouldLeaveKingInCheck(pair.getKey(), move, playerColor)) return false;
-                }
-            }
-        }
-        return true;
+        int color = Bitboards.colorIndex(playerColor);
+        if (bitboards.kingSquare(color) < 0 || bitboards.isInCheck(color)) return false;
+        return bitboards.generateLegalTargets(color, legalTargets) == 0;
     }
 
     public boolean isInCheck(Colors playerColor) {
-        Position kingPosition = findKingPosition(playerColor);
-        if (kingPosition == null) return false;
-        return isPositionAttacked(kingPosition, playerColor);
+        return bitboards.isInCheck(Bitboards.colorIndex(playerColor));
+    }
+
+    public boolean isSquareAttacked(Position position, Colors attackerColor) {
+        int square = Bitboards.squareOf(position);
+        return square >= 0 && bitboards.isSquareAttacked(square, Bitboards.colorIndex(attackerColor));
     }
 
     public List<Position> getValidMovesForPiece(Position position) {
-        Piece piece = getPieceAt(position);
-        if (piece == null) return new ArrayList<>();
-        List<Position> possibleMoves = piece.getPossibleMoves(this);
         List<Position> validMoves = new ArrayList<>();
-        for (Position move : possibleMoves) {
-            if (isValidMove(position, move)) validMoves.add(move);
+        int square = Bitboards.squareOf(position);
+        if (square < 0 || squares[square] == null) return validMoves;
+        bitboards.generateLegalTargets(Bitboards.colorIndex(squares[square].getColor()), legalTargets);
+        long targets = legalTargets[square];
+        while (targets != 0) {
+            validMoves.add(Position.of(Long.numberOfTrailingZeros(targets)));
+            targets &= targets - 1;
         }
         return validMoves;
     }
-
-    private ChessPair<Position, Piece> findPairByPositionAndPiece(Position position, Piece piece) {
-        for (ChessPair<Position, Piece> pair : pieces) {
-            if (pair.getKey().equals(position) && pair.getValue() == piece) return pair;
-        }
-        return null;
-    }
-}
\ No newline at end of file
+}
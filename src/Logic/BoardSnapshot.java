@@ -0,0 +1,90 @@
+public final class BoardSnapshot {
+    private final long[] pieces = new long[12];
+    private final int sideToMove;
+    private final long key;
+
+    BoardSnapshot(Bitboards bitboards) {
+        for (int color = Bitboards.WHITE; color <= Bitboards.BLACK; color++) {
+            for (int type = Bitboards.PAWN; type <= Bitboards.KING; type++) {
+                pieces[color * 6 + type] = bitboards.getPieces(color, type);
+            }
+        }
+        this.sideToMove = bitboards.getSideToMove();
+        this.key = bitboards.getKey();
+    }
+
+    public long getPieces(int color, int type) {
+        return pieces[color * 6 + type];
+    }
+
+    public long getOccupancy(int color) {
+        long occ = 0L;
+        for (int type = Bitboards.PAWN; type <= Bitboards.KING; type++) {
+            occ |= pieces[color * 6 + type];
+        }
+        return occ;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public Colors getSideToMoveColor() {
+        return Bitboards.colorOf(sideToMove);
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public int colorAt(int square) {
+        int piece = pieceAt(square);
+        return piece < 0 ? Bitboards.NO_PIECE : piece / 6;
+    }
+
+    public int typeAt(int square) {
+        int piece = pieceAt(square);
+        return piece < 0 ? Bitboards.NO_PIECE : piece % 6;
+    }
+
+    private int pieceAt(int square) {
+        long bit = 1L << square;
+        for (int i = 0; i < pieces.length; i++) {
+            if ((pieces[i] & bit) != 0) return i;
+        }
+        return Bitboards.NO_PIECE;
+    }
+
+    public Bitboards toBitboards() {
+        Bitboards bitboards = new Bitboards();
+        for (int i = 0; i < pieces.length; i++) {
+            long bits = pieces[i];
+            while (bits != 0) {
+                bitboards.put(i / 6, i % 6, Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        bitboards.setSideToMove(sideToMove);
+        return bitboards;
+    }
+
+    public Board toBoard() {
+        Board board = new Board();
+        for (int i = 0; i < pieces.length; i++) {
+            long bits = pieces[i];
+            while (bits != 0) {
+                int square = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                Position position = Bitboards.positionOf(square);
+                Piece piece = PieceFactory.createPiece(Bitboards.typeChar(i % 6), Bitboards.colorOf(i / 6), position);
+                if (piece instanceof Pawn) {
+                    int startRank = i / 6 == Bitboards.WHITE ? 1 : 6;
+                    ((Pawn) piece).setFirstMove(square >>> 3 == startRank);
+                }
+                board.addPiece(piece, position);
+            }
+        }
+        board.setSideToMove(Bitboards.colorOf(sideToMove));
+        return board;
+    }
+}
@@ -0,0 +1,69 @@
+public final class FenUtil {
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    private FenUtil() {
+    }
+
+    public static Board createBoard(String fen) {
+        Board board = new Board();
+        load(board, fen);
+        return board;
+    }
+
+    public static void load(Board board, String fen) {
+        if (board == null || fen == null) {
+            throw new IllegalArgumentException("Board and FEN are required");
+        }
+        String[] fields = fen.trim().split("\\s+");
+        String[] ranks = fields[0].split("/");
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("Invalid FEN placement: " + fields[0]);
+        }
+        board.clear();
+        for (int i = 0; i < 8; i++) {
+            int y = 8 - i;
+            char x = 'A';
+            for (int j = 0; j < ranks[i].length(); j++) {
+                char c = ranks[i].charAt(j);
+                if (Character.isDigit(c)) {
+                    x += c - '0';
+                    continue;
+                }
+                if (x > 'H') {
+                    throw new IllegalArgumentException("Rank too long in FEN: " + ranks[i]);
+                }
+                Colors color = Character.isUpperCase(c) ? Colors.WHITE : Colors.BLACK;
+                Position position = Position.of(x, y);
+                board.addPiece(PieceFactory.createPiece(Character.toUpperCase(c), color, position), position);
+                x++;
+            }
+        }
+        Colors side = fields.length > 1 && fields[1].equalsIgnoreCase("b") ? Colors.BLACK : Colors.WHITE;
+        board.setSideToMove(side);
+    }
+
+    public static String toFen(Board board) {
+        StringBuilder sb = new StringBuilder();
+        for (int y = 8; y >= 1; y--) {
+            int empty = 0;
+            for (char x = 'A'; x <= 'H'; x++) {
+                Piece piece = board.getPieceAt(Position.of(x, y));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    sb.append(empty);
+                    empty = 0;
+                }
+                char type = piece.getType();
+                sb.append(piece.getColor() == Colors.WHITE ? type : Character.toLowerCase(type));
+            }
+            if (empty > 0) sb.append(empty);
+            if (y > 1) sb.append('/');
+        }
+        sb.append(board.getSideToMove() == Colors.WHITE ? " w" : " b");
+        sb.append(" - - 0 1");
+        return sb.toString();
+    }
+}
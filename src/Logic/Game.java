@@ -6,14 +6,17 @@ public class Game {
     private Board board;
     private Player player1;
     private Player player2;
-    private List<Move> history;
+    private int[] history;
+    private int historySize;
     private int currentPlayerIndex;
     private String currentPlayerColor;
     private List<GameObserver> observers = new ArrayList<GameObserver>();
+    private final GameStatus status = new GameStatus();
+    private Difficulty difficulty = Difficulty.DEFAULT;
 
     public Game() {
         this.board = new Board();
-        this.history = new ArrayList<Move>();
+        this.history = new int[64];
         this.currentPlayerIndex = 0;
         this.currentPlayerColor = Colors.WHITE.toString();
     }
@@ -31,7 +34,7 @@ public class Game {
         }
 
         this.board = new Board();
-        this.history = new ArrayList<Move>();
+        this.history = new int[64];
         this.currentPlayerIndex = 0;
         this.currentPlayerColor = Colors.WHITE.toString();
     }
@@ -98,6 +101,13 @@ public class Game {
                 this.currentPlayerIndex = 1;
             }
         }
+        syncSideToMove();
+    }
+
+    private void syncSideToMove() {
+        if (board != null && currentPlayerColor != null) {
+            board.setSideToMove("BLACK".equalsIgnoreCase(currentPlayerColor) ? Colors.BLACK : Colors.WHITE);
+        }
     }
 
     public void setBoard(List<Piece> pieces) {
@@ -113,13 +123,17 @@ public class Game {
             }
         }
         updatePawnFirstMoveFlags();
+        syncSideToMove();
     }
 
     public void setMoves(List<Move> moves) {
-        if (moves == null) {
-            this.history = new ArrayList<Move>();
-        } else {
-            this.history = new ArrayList<Move>(moves);
+        this.historySize = 0;
+        if (moves != null) {
+            for (Move move : moves) {
+                if (move != null && move.getEncoded() != MoveEncoding.NONE) {
+                    appendHistory(move.getEncoded());
+                }
+            }
         }
     }
 
@@ -128,9 +142,10 @@ public class Game {
             board = new Board();
         }
         this.board.initialize();
-        this.history.clear();
+        this.historySize = 0;
         this.currentPlayerIndex = 0;
         this.currentPlayerColor = Colors.WHITE.toString();
+        syncSideToMove();
         if (player1 != null) {
             player1.clearCapturedPieces();
             player1.setPoints(0);
@@ -147,6 +162,7 @@ public class Game {
         if (player1 != null && player2 != null) {
             this.currentPlayerIndex = 1 - this.currentPlayerIndex;
             this.currentPlayerColor = getCurrentPlayer().getColor().toString();
+            syncSideToMove();
             notifyObservers("Player switched to " + getCurrentPlayer().getName());
         }
     }
@@ -155,7 +171,7 @@ public class Game {
         Player opponent = getOpponentPlayer();
         if (opponent == null || board == null) return false;
 
-        boolean checkmate = board.isCheckmate(opponent.getColor());
+        boolean checkmate = getStatus(opponent.getColor()).isCheckmate();
         if (checkmate) {
             notifyObservers("Checkmate!");
         }
@@ -166,30 +182,73 @@ public class Game {
         Player opponent = getOpponentPlayer();
         if (opponent == null || board == null) return false;
 
-        boolean stalemate = board.isStalemate(opponent.getColor());
+        boolean stalemate = getStatus(opponent.getColor()).isStalemate();
         if (stalemate) {
             notifyObservers("Stalemate!");
         }
         return stalemate;
     }
 
+    public GameStatus getStatus() {
+        Player current = getCurrentPlayer();
+        return getStatus(current != null ? current.getColor() : board.getSideToMove());
+    }
+
+    public GameStatus getStatus(Colors color) {
+        if (!status.isFor(board, color)) {
+            status.update(board, color);
+        }
+        return status;
+    }
+
     public void addMove(Player player, Position from, Position to) {
         if (player == null || from == null || to == null || board == null) {
             return;
         }
+        int fromSquare = from.getIndex();
+        int toSquare = to.getIndex();
+        if (fromSquare < 0 || toSquare < 0) {
+            return;
+        }
 
-        Piece captured = board.getPieceAt(to);
-        Move move = new Move(player.getColor(), from, to, captured);
-        this.history.add(move);
-
-        notifyMoveMade(move);
-        if (captured != null) {
-            notifyPieceCaptured(captured);
+        UndoRecord last = board.getLastUndo();
+        Piece captured;
+        Piece promoted = null;
+        if (last != null && last.getFrom() == fromSquare && last.getTo() == toSquare) {
+            captured = last.getCaptured();
+            promoted = last.getPromoted();
+        } else {
+            captured = board.getPieceAt(to);
+        }
+        int capturedType = captured == null ? Bitboards.NO_PIECE : Bitboards.typeIndex(captured.getType());
+        int promotionType = promoted == null ? Bitboards.NO_PIECE : Bitboards.typeIndex(promoted.getType());
+        int move = MoveEncoding.encode(fromSquare, toSquare, promotionType, capturedType,
+                Bitboards.colorIndex(player.getColor()));
+        appendHistory(move);
+
+        if (!observers.isEmpty()) {
+            Move made = new Move(player.getColor(), from, to, captured);
+            if (promoted != null) {
+                made.setPromotion(promoted.getType());
+            }
+            notifyMoveMade(made);
+            if (captured != null) {
+                notifyPieceCaptured(captured);
+            }
         }
 
         ensureCapturedPiecesInitialized();
     }
 
+    private void appendHistory(int move) {
+        if (historySize == history.length) {
+            int[] grown = new int[history.length * 2];
+            System.arraycopy(history, 0, grown, 0, historySize);
+            history = grown;
+        }
+        history[historySize++] = move;
+    }
+
     private void updatePawnFirstMoveFlags() {
         if (board == null) {
             return;
@@ -263,13 +322,33 @@ public class Game {
     }
 
     public List<Move> getHistory() {
-        return new ArrayList<Move>(history);
+        List<Move> moves = new ArrayList<Move>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            moves.add(new Move(history[i]));
+        }
+        return moves;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public int getEncodedMove(int index) {
+        return history[index];
     }
 
     public String getCurrentPlayerColor() {
         return currentPlayerColor;
     }
 
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty == null ? Difficulty.DEFAULT : difficulty;
+    }
+
 
 
     public boolean isComputerTurn() {
@@ -0,0 +1,68 @@
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameStatus {
+    private Colors color;
+    private long key;
+    private boolean hasKing;
+    private boolean inCheck;
+    private int legalMoveCount;
+    private final long[] targets = new long[64];
+
+    void update(Board board, Colors color) {
+        Bitboards bitboards = board.getBitboards();
+        int colorIndex = Bitboards.colorIndex(color);
+        this.legalMoveCount = bitboards.generateLegalTargets(colorIndex, targets);
+        this.hasKing = bitboards.kingSquare(colorIndex) >= 0;
+        this.inCheck = bitboards.isInCheck(colorIndex);
+        this.color = color;
+        this.key = board.getZobristKey();
+    }
+
+    public boolean isFor(Board board, Colors color) {
+        return this.color == color && this.key == board.getZobristKey();
+    }
+
+    public Colors getColor() {
+        return color;
+    }
+
+    public boolean isInCheck() {
+        return inCheck;
+    }
+
+    public boolean isCheckmate() {
+        return hasKing && inCheck && legalMoveCount == 0;
+    }
+
+    public boolean isStalemate() {
+        return hasKing && !inCheck && legalMoveCount == 0;
+    }
+
+    public int getLegalMoveCount() {
+        return legalMoveCount;
+    }
+
+    public boolean hasLegalMoves(Position from) {
+        int square = Bitboards.squareOf(from);
+        return square >= 0 && targets[square] != 0;
+    }
+
+    public boolean isLegalMove(Position from, Position to) {
+        int fromSquare = Bitboards.squareOf(from);
+        int toSquare = Bitboards.squareOf(to);
+        return fromSquare >= 0 && toSquare >= 0 && (targets[fromSquare] & (1L << toSquare)) != 0;
+    }
+
+    public List<Position> getLegalMoves(Position from) {
+        List<Position> moves = new ArrayList<>();
+        int square = Bitboards.squareOf(from);
+        if (square < 0) return moves;
+        long bits = targets[square];
+        while (bits != 0) {
+            moves.add(Position.of(Long.numberOfTrailingZeros(bits)));
+            bits &= bits - 1;
+        }
+        return moves;
+    }
+}
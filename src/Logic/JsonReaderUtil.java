@@ -89,6 +89,7 @@ public final class JsonReaderUtil {
 
                 String currentColor = (String) obj.get("currentPlayerColor");
                 game.setCurrentPlayerColor(currentColor);
+                game.setDifficulty(Difficulty.fromName((String) obj.get("difficulty")));
 
                 JSONArray boardArray = (JSONArray) obj.get("board");
                 if (boardArray != null) {
@@ -103,7 +104,7 @@ public final class JsonReaderUtil {
                         Colors color = Colors.valueOf(colorStr.toUpperCase());
                         char x = positionStr.charAt(0);
                         int y = Character.getNumericValue(positionStr.charAt(1));
-                        Position position = new Position(x, y);
+                        Position position = Position.of(x, y);
 
                         Piece piece = createPiece(type.charAt(0), color, position);
                         if (piece != null) {
@@ -133,7 +134,7 @@ public final class JsonReaderUtil {
 
                             char capX = toStr.charAt(0);
                             int capY = Character.getNumericValue(toStr.charAt(1));
-                            Position capPos = new Position(capX, capY);
+                            Position capPos = Position.of(capX, capY);
 
                             Piece captured = createPiece(capType.charAt(0), capColor, capPos);
                             if (captured != null) {
@@ -144,6 +145,11 @@ public final class JsonReaderUtil {
                             }
                         }
 
+                        String promotionStr = (String) moveJson.get("promotion");
+                        if (promotionStr != null && promotionStr.length() == 1) {
+                            move.setPromotion(promotionStr.charAt(0));
+                        }
+
                         moves.add(move);
                     }
                     game.setMoves(moves);
@@ -183,6 +189,6 @@ public final class JsonReaderUtil {
     private static Position parsePosition(String posStr) {
         char x = posStr.charAt(0);
         int y = Character.getNumericValue(posStr.charAt(1));
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 }
\ No newline at end of file
@@ -114,6 +114,7 @@ public class Main {
                 playersArray.add(player2Obj);
                 gameObj.put("players", playersArray);
                 gameObj.put("currentPlayerColor", game.getCurrentPlayerColor());
+                gameObj.put("difficulty", game.getDifficulty().name());
                 org.json.simple.JSONArray boardArray = new org.json.simple.JSONArray();
                 if (game.getBoard() != null) {
                     for (ChessPair<Position, Piece> pair : game.getBoard().getAllPieces()) {
@@ -131,6 +132,9 @@ public class Main {
                     moveObj.put("playerColor", move.getPlayerColor().toString());
                     moveObj.put("from", move.getFrom().toString());
                     moveObj.put("to", move.getTo().toString());
+                    if (move.getPromotion() != Board.NO_PROMOTION) {
+                        moveObj.put("promotion", String.valueOf(move.getPromotion()));
+                    }
                     if (move.getCapturedPiece() != null) {
                         org.json.simple.JSONObject capturedObj = new org.json.simple.JSONObject();
                         capturedObj.put("type", String.valueOf(move.getCapturedPiece().getType()));
@@ -175,7 +179,7 @@ public class Main {
         }
     }
 
-    public Game createNewGame(String playerName, Colors playerColor) {
+    public Game createNewGame(String playerName, Colors playerColor, Difficulty difficulty) {
         Colors computerColor = (playerColor == Colors.WHITE) ? Colors.BLACK : Colors.WHITE;
         if (playerName == null || playerName.trim().isEmpty()) {
             playerName = "Player1";
@@ -183,6 +187,7 @@ public class Main {
         Player humanPlayer = new Player(playerName, playerColor);
         Player computerPlayer = new Player("Computer", computerColor);
         Game game = new Game(nextGameId, humanPlayer, computerPlayer);
+        game.setDifficulty(difficulty);
         game.start();
         allGames.put(nextGameId, game);
         if (currentUser != null) {
@@ -0,0 +1,141 @@
+public class MaterialLedger {
+    public static final int[] PIECE_VALUES = {100, 300, 300, 500, 900, 0};
+    private static final int POINTS_DIVISOR = 10;
+
+    // Piece-square tables from white's side, written with rank 8 on the first line.
+    private static final int[][] PIECE_SQUARE_TABLES = {
+            {
+                     0,   0,   0,   0,   0,   0,   0,   0,
+                    50,  50,  50,  50,  50,  50,  50,  50,
+                    10,  10,  20,  30,  30,  20,  10,  10,
+                     5,   5,  10,  25,  25,  10,   5,   5,
+                     0,   0,   0,  20,  20,   0,   0,   0,
+                     5,  -5, -10,   0,   0, -10,  -5,   5,
+                     5,  10,  10, -20, -20,  10,  10,   5,
+                     0,   0,   0,   0,   0,   0,   0,   0
+            },
+            {
+                   -50, -40, -30, -30, -30, -30, -40, -50,
+                   -40, -20,   0,   0,   0,   0, -20, -40,
+                   -30,   0,  10,  15,  15,  10,   0, -30,
+                   -30,   5,  15,  20,  20,  15,   5, -30,
+                   -30,   0,  15,  20,  20,  15,   0, -30,
+                   -30,   5,  10,  15,  15,  10,   5, -30,
+                   -40, -20,   0,   5,   5,   0, -20, -40,
+                   -50, -40, -30, -30, -30, -30, -40, -50
+            },
+            {
+                   -20, -10, -10, -10, -10, -10, -10, -20,
+                   -10,   0,   0,   0,   0,   0,   0, -10,
+                   -10,   0,   5,  10,  10,   5,   0, -10,
+                   -10,   5,   5,  10,  10,   5,   5, -10,
+                   -10,   0,  10,  10,  10,  10,   0, -10,
+                   -10,  10,  10,  10,  10,  10,  10, -10,
+                   -10,   5,   0,   0,   0,   0,   5, -10,
+                   -20, -10, -10, -10, -10, -10, -10, -20
+            },
+            {
+                     0,   0,   0,   0,   0,   0,   0,   0,
+                     5,  10,  10,  10,  10,  10,  10,   5,
+                    -5,   0,   0,   0,   0,   0,   0,  -5,
+                    -5,   0,   0,   0,   0,   0,   0,  -5,
+                    -5,   0,   0,   0,   0,   0,   0,  -5,
+                    -5,   0,   0,   0,   0,   0,   0,  -5,
+                    -5,   0,   0,   0,   0,   0,   0,  -5,
+                     0,   0,   0,   5,   5,   0,   0,   0
+            },
+            {
+                   -20, -10, -10,  -5,  -5, -10, -10, -20,
+                   -10,   0,   0,   0,   0,   0,   0, -10,
+                   -10,   0,   5,   5,   5,   5,   0, -10,
+                    -5,   0,   5,   5,   5,   5,   0,  -5,
+                     0,   0,   5,   5,   5,   5,   0,  -5,
+                   -10,   5,   5,   5,   5,   5,   0, -10,
+                   -10,   0,   5,   0,   0,   0,   0, -10,
+                   -20, -10, -10,  -5,  -5, -10, -10, -20
+            },
+            {
+                   -30, -40, -40, -50, -50, -40, -40, -30,
+                   -30, -40, -40, -50, -50, -40, -40, -30,
+                   -30, -40, -40, -50, -50, -40, -40, -30,
+                   -30, -40, -40, -50, -50, -40, -40, -30,
+                   -20, -30, -30, -40, -40, -30, -30, -20,
+                   -10, -20, -20, -20, -20, -20, -20, -10,
+                    20,  20,   0,   0,   0,   0,  20,  20,
+                    20,  30,  10,   0,   0,  10,  30,  20
+            }
+    };
+
+    private static final int[] KING_ENDGAME_TABLE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+    private static final int ENDGAME_MATERIAL = 1300;
+
+    private final int[] material = new int[2];
+    private final int[] pawnMaterial = new int[2];
+    private final int[] placement = new int[2];
+
+    public void clear() {
+        for (int color = Bitboards.WHITE; color <= Bitboards.BLACK; color++) {
+            material[color] = 0;
+            pawnMaterial[color] = 0;
+            placement[color] = 0;
+        }
+    }
+
+    public void add(int color, int type, int square) {
+        if (type == Bitboards.KING) return;
+        material[color] += PIECE_VALUES[type];
+        if (type == Bitboards.PAWN) pawnMaterial[color] += PIECE_VALUES[type];
+        placement[color] += pieceSquareValue(color, type, square);
+    }
+
+    public void remove(int color, int type, int square) {
+        if (type == Bitboards.KING) return;
+        material[color] -= PIECE_VALUES[type];
+        if (type == Bitboards.PAWN) pawnMaterial[color] -= PIECE_VALUES[type];
+        placement[color] -= pieceSquareValue(color, type, square);
+    }
+
+    public int getMaterial(int color) {
+        return material[color];
+    }
+
+    public int getNonPawnMaterial(int color) {
+        return material[color] - pawnMaterial[color];
+    }
+
+    public int getPlacement(int color) {
+        return placement[color];
+    }
+
+    public boolean isEndgame() {
+        return getNonPawnMaterial(Bitboards.WHITE) <= ENDGAME_MATERIAL
+                && getNonPawnMaterial(Bitboards.BLACK) <= ENDGAME_MATERIAL;
+    }
+
+    public static int pieceSquareValue(int color, int type, int square) {
+        return PIECE_SQUARE_TABLES[type][tableIndex(color, square)];
+    }
+
+    public static int kingSquareValue(int color, int square, boolean endgame) {
+        return endgame ? KING_ENDGAME_TABLE[tableIndex(color, square)]
+                : PIECE_SQUARE_TABLES[Bitboards.KING][tableIndex(color, square)];
+    }
+
+    private static int tableIndex(int color, int square) {
+        return color == Bitboards.WHITE ? square ^ 56 : square;
+    }
+
+    public static int points(char type) {
+        int index = Bitboards.typeIndex(type);
+        return index == Bitboards.NO_PIECE ? 0 : PIECE_VALUES[index] / POINTS_DIVISOR;
+    }
+}
@@ -0,0 +1,27 @@
+public class MoveBuffer {
+    public static final int MAX_MOVES = 256;
+
+    private final int[][] moves;
+    private final int[] counts;
+
+    public MoveBuffer(int maxPly) {
+        this.moves = new int[maxPly][MAX_MOVES];
+        this.counts = new int[maxPly];
+    }
+
+    public int[] get(int ply) {
+        return moves[ply];
+    }
+
+    public int count(int ply) {
+        return counts[ply];
+    }
+
+    public void setCount(int ply, int count) {
+        counts[ply] = count;
+    }
+
+    public int maxPly() {
+        return moves.length;
+    }
+}
@@ -0,0 +1,69 @@
+public final class MoveEncoding {
+    // Layout: bits 0-5 from, 6-11 to, 12-14 promotion type + 1, 15 capture flag,
+    // 16-18 captured type + 1, 19 set when the mover is black.
+    public static final int NONE = 0;
+    private static final int CAPTURE_FLAG = 1 << 15;
+    private static final int BLACK_FLAG = 1 << 19;
+
+    private MoveEncoding() {
+    }
+
+    public static int encode(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int encode(int from, int to, int promotionType, int capturedType, int moverColor) {
+        int move = from | (to << 6);
+        if (promotionType != Bitboards.NO_PIECE) move |= (promotionType + 1) << 12;
+        if (capturedType != Bitboards.NO_PIECE) move |= CAPTURE_FLAG | ((capturedType + 1) << 16);
+        if (moverColor == Bitboards.BLACK) move |= BLACK_FLAG;
+        return move;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int promotion(int move) {
+        return ((move >>> 12) & 7) - 1;
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (7 << 12)) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE_FLAG) != 0;
+    }
+
+    public static int captured(int move) {
+        return ((move >>> 16) & 7) - 1;
+    }
+
+    public static int moverColor(int move) {
+        return (move & BLACK_FLAG) != 0 ? Bitboards.BLACK : Bitboards.WHITE;
+    }
+
+    public static int withMoverColor(int move, int moverColor) {
+        return moverColor == Bitboards.BLACK ? move | BLACK_FLAG : move & ~BLACK_FLAG;
+    }
+
+    public static boolean sameMove(int a, int b) {
+        return (a & 0x7FFF) == (b & 0x7FFF);
+    }
+
+    public static char promotionChar(int move) {
+        return isPromotion(move) ? Bitboards.typeChar(promotion(move)) : Board.NO_PROMOTION;
+    }
+
+    public static String toString(int move) {
+        if (move == NONE) return "none";
+        String text = Position.of(from(move)) + "-" + Position.of(to(move));
+        if (isPromotion(move)) text += "=" + promotionChar(move);
+        return text;
+    }
+}
@@ -0,0 +1,136 @@
+public class Perft {
+    private static final int MAX_PLY = 32;
+
+    // Reference counts for the rules this project implements: no castling and no en passant.
+    // The positions and depths are chosen so neither rule can occur inside the searched tree,
+    // except that start position depth 5 excludes its 258 en passant leaf captures.
+    private static final String[] SUITE_FENS = {
+            FenUtil.START_POSITION,
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1"
+    };
+    private static final long[][] SUITE_COUNTS = {
+            {20, 400, 8902, 197281, 4865351},
+            {14, 191},
+            {24, 496, 9483, 182838, 3605103}
+    };
+
+    private final Board board;
+    private final boolean useStrategies;
+    private final MoveBuffer buffer = new MoveBuffer(MAX_PLY);
+
+    public Perft(Board board, boolean useStrategies) {
+        this.board = board;
+        this.useStrategies = useStrategies;
+    }
+
+    public long perft(int depth) {
+        return perft(depth, 0);
+    }
+
+    private long perft(int depth, int ply) {
+        if (depth == 0) return 1;
+        int[] moves = buffer.get(ply);
+        int count = generate(moves);
+        if (depth == 1) return count;
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            nodes += perft(depth - 1, ply + 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private int generate(int[] moves) {
+        if (!useStrategies) {
+            return board.generateLegalMoves(moves, 0);
+        }
+        Bitboards bitboards = board.getBitboards();
+        int count = 0;
+        long own = bitboards.getOccupancy(bitboards.getSideToMove());
+        while (own != 0) {
+            int from = Long.numberOfTrailingZeros(own);
+            own &= own - 1;
+            int end = board.getPieceAt(from).generateMoves(board, moves, count);
+            for (int i = count; i < end; i++) {
+                int move = moves[i];
+                if (MoveEncoding.isCapture(move) && MoveEncoding.captured(move) == Bitboards.KING) continue;
+                if (!bitboards.leavesKingInCheck(from, MoveEncoding.to(move))) {
+                    moves[count++] = move;
+                }
+            }
+        }
+        return count;
+    }
+
+    public long divide(int depth) {
+        int[] moves = buffer.get(0);
+        int count = generate(moves);
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            long nodes = depth <= 1 ? 1 : perft(depth - 1, 1);
+            board.unmakeMove();
+            System.out.println(MoveEncoding.toString(moves[i]) + ": " + nodes);
+            total += nodes;
+        }
+        System.out.println("Total: " + total);
+        return total;
+    }
+
+    public static boolean runSuite(boolean useStrategies, int maxDepth) {
+        boolean allPassed = true;
+        for (int i = 0; i < SUITE_FENS.length; i++) {
+            System.out.println(SUITE_FENS[i]);
+            for (int depth = 1; depth <= SUITE_COUNTS[i].length && depth <= maxDepth; depth++) {
+                Perft perft = new Perft(FenUtil.createBoard(SUITE_FENS[i]), useStrategies);
+                long start = System.nanoTime();
+                long nodes = perft.perft(depth);
+                long elapsed = System.nanoTime() - start;
+                long expected = SUITE_COUNTS[i][depth - 1];
+                boolean passed = nodes == expected;
+                allPassed &= passed;
+                System.out.println(String.format("  depth %d: %d nodes (expected %d) %s  %.1f ms  %d nps",
+                        depth, nodes, expected, passed ? "OK" : "FAIL",
+                        elapsed / 1e6, nodesPerSecond(nodes, elapsed)));
+            }
+        }
+        System.out.println(allPassed ? "All perft counts match." : "Perft mismatch detected!");
+        return allPassed;
+    }
+
+    private static long nodesPerSecond(long nodes, long nanos) {
+        return nanos <= 0 ? 0 : (long) (nodes * 1e9 / nanos);
+    }
+
+    public static void main(String[] args) {
+        boolean useStrategies = false;
+        boolean divide = false;
+        int depth = -1;
+        StringBuilder fen = new StringBuilder();
+        for (String arg : args) {
+            if (arg.equals("--strategies")) {
+                useStrategies = true;
+            } else if (arg.equals("--divide")) {
+                divide = true;
+            } else if (depth < 0 && arg.matches("\\d+")) {
+                depth = Integer.parseInt(arg);
+            } else {
+                fen.append(arg).append(' ');
+            }
+        }
+        if (fen.length() == 0) {
+            boolean passed = runSuite(useStrategies, depth < 0 ? Integer.MAX_VALUE : depth);
+            if (!passed) System.exit(1);
+            return;
+        }
+        Perft perft = new Perft(FenUtil.createBoard(fen.toString()), useStrategies);
+        if (depth < 1) depth = 1;
+        long start = System.nanoTime();
+        long nodes = divide ? perft.divide(depth) : perft.perft(depth);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("depth %d: %d nodes  %.1f ms  %d nps",
+                depth, nodes, elapsed / 1e6, nodesPerSecond(nodes, elapsed)));
+    }
+}
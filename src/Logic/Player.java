@@ -27,6 +27,10 @@ public class Player {
     }
 
     public void makeMove(Position from, Position to, Board board, ChessGUI gui) throws InvalidMoveException {
+        makeMove(from, to, Board.NO_PROMOTION, board, gui);
+    }
+
+    public void makeMove(Position from, Position to, char promotion, Board board, ChessGUI gui) throws InvalidMoveException {
         if (board == null) {
             throw new InvalidMoveException("Board is null");
         }
@@ -42,7 +46,7 @@ public class Player {
         if (piece.getColor() != this.color) {
             throw new InvalidMoveException("Piece at " + from + " does not belong to you");
         }
-        board.movePiece(from, to, this, gui);
+        board.movePiece(from, to, promotion, this, gui);
     }
 
     public void addCapturedPiece(Piece originalPiece) {
@@ -54,7 +58,7 @@ public class Player {
         }
         Piece capturedCopy = createPieceCopy(originalPiece);
         capturedPieces.add(capturedCopy);
-        updatePoints();
+        points += MaterialLedger.points(capturedCopy.getType());
     }
 
     private Piece createPieceCopy(Piece original) {
@@ -68,24 +72,6 @@ public class Player {
         return copy;
     }
 
-    private void updatePoints() {
-        this.points = 0;
-        for (Piece piece : capturedPieces) {
-            this.points += getPieceValue(piece.getType());
-        }
-    }
-
-    private int getPieceValue(char type) {
-        switch (type) {
-            case 'Q': return 90;
-            case 'R': return 50;
-            case 'B': return 30;
-            case 'N': return 30;
-            case 'P': return 10;
-            default:  return 0;
-        }
-    }
-
     public List<String> getCapturedPiecesForJson() {
         List<String> result = new ArrayList<>();
         for (Piece piece : capturedPieces) {
@@ -108,7 +94,7 @@ public class Player {
                         Piece piece = PieceFactory.createPiece(type, color, neutralPos);
                         if (piece != null) {
                             capturedPieces.add(piece);
-                            points += getPieceValue(type);
+                            points += MaterialLedger.points(type);
                         }
                     }
                 } catch (Exception e) {
@@ -190,7 +176,7 @@ public class Player {
             for (Piece piece : pieces) {
                 Piece copy = createPieceCopy(piece);
                 this.capturedPieces.add(copy);
-                this.points += getPieceValue(piece.getType());
+                this.points += MaterialLedger.points(piece.getType());
             }
         }
     }
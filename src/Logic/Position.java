@@ -1,16 +1,37 @@
 public class Position implements Comparable<Position> {
-    private char x;
-    private int y;
+    private static final Position[] SQUARES = new Position[64];
+
+    static {
+        for (int i = 0; i < SQUARES.length; i++) {
+            SQUARES[i] = new Position((char) ('A' + (i & 7)), (i >>> 3) + 1);
+        }
+    }
+
+    private final char x;
+    private final int y;
     public Position(char x,int y){
         this.x=x;
         this.y=y;
     }
+    public static Position of(char x, int y){
+        if(x<'A' || x>'H' || y<1 || y>8)
+            return new Position(x,y);
+        return SQUARES[(y-1)*8+(x-'A')];
+    }
+    public static Position of(int squareIndex){
+        return SQUARES[squareIndex];
+    }
     public char getX(){
         return x;
     }
     public int getY(){
         return y;
     }
+    public int getIndex(){
+        if(x<'A' || x>'H' || y<1 || y>8)
+            return -1;
+        return (y-1)*8+(x-'A');
+    }
     @Override
     public int compareTo(Position other){
         if(this.y!=other.y){
@@ -28,7 +49,11 @@ public class Position implements Comparable<Position> {
         return this.x==other.x && this.y==other.y;
     }
     @Override
+    public int hashCode(){
+        return 31*x+y;
+    }
+    @Override
     public String toString(){
         return ""+x+y;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+public class UndoRecord {
+    int from;
+    int to;
+    Piece moved;
+    Piece captured;
+    boolean firstMove;
+    Piece promoted;
+    boolean promotion;
+    private final Piece[] promotionCache = new Piece[4];
+
+    void set(int from, int to, Piece moved, Piece captured, boolean firstMove) {
+        this.from = from;
+        this.to = to;
+        this.moved = moved;
+        this.captured = captured;
+        this.firstMove = firstMove;
+        this.promotion = false;
+    }
+
+    Piece cachedPromotion(char type, Colors color) {
+        Piece piece = promotionCache[promotionSlot(type)];
+        return piece != null && piece.getColor() == color ? piece : null;
+    }
+
+    void cachePromotion(Piece piece) {
+        promotionCache[promotionSlot(piece.getType())] = piece;
+    }
+
+    private static int promotionSlot(char type) {
+        switch (type) {
+            case 'R': return 1;
+            case 'B': return 2;
+            case 'N': return 3;
+            default: return 0;
+        }
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public Piece getMoved() {
+        return moved;
+    }
+
+    public Piece getCaptured() {
+        return captured;
+    }
+
+    public Piece getPromoted() {
+        return promotion ? promoted : null;
+    }
+}
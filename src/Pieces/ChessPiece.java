@@ -1,7 +1,7 @@
 import java.util.List;
 public interface ChessPiece {
     List<Position> getPossibleMoves(Board board);
-    boolean checkForCheck(Board board, Position kingPosition);
+    int generateMoves(Board board, int[] moves, int count);
     char getType();
     Colors getColor();
     Position getPosition();
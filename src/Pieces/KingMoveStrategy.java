@@ -2,21 +2,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class KingMoveStrategy implements MoveStrategy {
+    private static final int[][] STEPS = {
+            {-1,-1}, {-1,0}, {-1,1},
+            {0,-1},          {0,1},
+            {1,-1},  {1,0},  {1,1}
+    };
+
     @Override
     public List<Position> getPossibleMoves(Board board, Position currentPos) {
         List<Position> moves = new ArrayList<Position>();
         int x = currentPos.getX() - 'A';
         int y = currentPos.getY() - 1;
-        int[][] directions = {
-                {-1,-1}, {-1,0}, {-1,1},
-                {0,-1},          {0,1},
-                {1,-1},  {1,0},  {1,1}
-        };
-        for (int i = 0; i < directions.length; i++) {
-            int newX = x + directions[i][0];
-            int newY = y + directions[i][1];
+        for (int i = 0; i < STEPS.length; i++) {
+            int newX = x + STEPS[i][0];
+            int newY = y + STEPS[i][1];
             if (newX >= 0 && newX < 8 && newY >= 0 && newY < 8) {
-                Position newPos = new Position((char)(newX + 'A'), newY + 1);
+                Position newPos = Position.of(newY * 8 + newX);
                 Piece target = board.getPieceAt(newPos);
                 if (target == null || target.getColor() != getPieceColor(board, currentPos)) {
                     moves.add(newPos);
@@ -28,8 +29,27 @@ public class KingMoveStrategy implements MoveStrategy {
     }
 
     @Override
-    public boolean canCheckKing(Board board, Position currentPos, Position kingPos) {
-        return false;
+    public int generateMoves(Board board, int from, int[] moves, int count) {
+        Piece piece = board.getPieceAt(from);
+        if (piece == null) return count;
+        int color = Bitboards.colorIndex(piece.getColor());
+        int x = from & 7;
+        int y = from >>> 3;
+        for (int i = 0; i < STEPS.length; i++) {
+            int newX = x + STEPS[i][0];
+            int newY = y + STEPS[i][1];
+            if (newX >= 0 && newX < 8 && newY >= 0 && newY < 8) {
+                int to = newY * 8 + newX;
+                Piece target = board.getPieceAt(to);
+                if (target == null) {
+                    moves[count++] = MoveEncoding.encode(from, to, Bitboards.NO_PIECE, Bitboards.NO_PIECE, color);
+                } else if (target.getColor() != piece.getColor()) {
+                    moves[count++] = MoveEncoding.encode(from, to, Bitboards.NO_PIECE,
+                            Bitboards.typeIndex(target.getType()), color);
+                }
+            }
+        }
+        return count;
     }
 
     private Colors getPieceColor(Board board, Position pos) {
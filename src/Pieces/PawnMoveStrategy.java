@@ -14,13 +14,13 @@ public class PawnMoveStrategy implements MoveStrategy {
         int direction = (color == Colors.WHITE) ? 1 : -1;
         int forwardY = y + direction;
         if (forwardY >= 0 && forwardY < 8) {
-            Position forwardPos = new Position((char)(x + 'A'), forwardY + 1);
+            Position forwardPos = Position.of(forwardY * 8 + x);
             if (board.getPieceAt(forwardPos) == null) {
                 moves.add(forwardPos);
                 if (isFirstMove) {
                     int doubleForwardY = y + 2 * direction;
                     if (doubleForwardY >= 0 && doubleForwardY < 8) {
-                        Position doubleForwardPos = new Position((char)(x + 'A'), doubleForwardY + 1);
+                        Position doubleForwardPos = Position.of(doubleForwardY * 8 + x);
                         if (board.getPieceAt(doubleForwardPos) == null) {
                             moves.add(doubleForwardPos);
                         }
@@ -34,7 +34,7 @@ public class PawnMoveStrategy implements MoveStrategy {
             for (int i = 0; i < captureX.length; i++) {
                 int capX = captureX[i];
                 if (capX >= 0 && capX < 8) {
-                    Position capturePos = new Position((char)(capX + 'A'), captureY + 1);
+                    Position capturePos = Position.of(captureY * 8 + capX);
                     Piece target = board.getPieceAt(capturePos);
 
                     if (target != null && target.getColor() != color) {
@@ -48,27 +48,49 @@ public class PawnMoveStrategy implements MoveStrategy {
     }
 
     @Override
-    public boolean canCheckKing(Board board, Position currentPos, Position kingPos) {
-        Piece pawn = board.getPieceAt(currentPos);
-        if (!(pawn instanceof Pawn)) return false;
-        Colors color = ((Pawn) pawn).getColor();
-        int x = currentPos.getX() - 'A';
-        int y = currentPos.getY() - 1;
+    public int generateMoves(Board board, int from, int[] moves, int count) {
+        Piece pawn = board.getPieceAt(from);
+        if (!(pawn instanceof Pawn)) return count;
+        Colors color = pawn.getColor();
+        int colorIndex = Bitboards.colorIndex(color);
+        int x = from & 7;
+        int y = from >>> 3;
         int direction = (color == Colors.WHITE) ? 1 : -1;
-        int[] captureX = {x - 1, x + 1};
-        int captureY = y + direction;
-        if (captureY >= 0 && captureY < 8) {
-            for (int i = 0; i < captureX.length; i++) {
-                int capX = captureX[i];
-                if (capX >= 0 && capX < 8) {
-                    Position capturePos = new Position((char)(capX + 'A'), captureY + 1);
-                    if (capturePos.equals(kingPos)) {
-                        return true;
-                    }
+        int forwardY = y + direction;
+        if (forwardY < 0 || forwardY >= 8) return count;
+        int forward = forwardY * 8 + x;
+        if (board.getPieceAt(forward) == null) {
+            count = addPawnMove(moves, count, from, forward, Bitboards.NO_PIECE, colorIndex);
+            int doubleForwardY = y + 2 * direction;
+            if (((Pawn) pawn).isFirstMove() && doubleForwardY >= 0 && doubleForwardY < 8) {
+                int doubleForward = doubleForwardY * 8 + x;
+                if (board.getPieceAt(doubleForward) == null) {
+                    moves[count++] = MoveEncoding.encode(from, doubleForward, Bitboards.NO_PIECE, Bitboards.NO_PIECE, colorIndex);
                 }
             }
         }
-        return false;
+        for (int dx = -1; dx <= 1; dx += 2) {
+            int capX = x + dx;
+            if (capX < 0 || capX >= 8) continue;
+            Piece target = board.getPieceAt(forwardY * 8 + capX);
+            if (target != null && target.getColor() != color) {
+                count = addPawnMove(moves, count, from, forwardY * 8 + capX,
+                        Bitboards.typeIndex(target.getType()), colorIndex);
+            }
+        }
+        return count;
+    }
+
+    private int addPawnMove(int[] moves, int count, int from, int to, int captured, int color) {
+        int rank = to >>> 3;
+        if (rank == 0 || rank == 7) {
+            for (int promotion = Bitboards.QUEEN; promotion >= Bitboards.KNIGHT; promotion--) {
+                moves[count++] = MoveEncoding.encode(from, to, promotion, captured, color);
+            }
+        } else {
+            moves[count++] = MoveEncoding.encode(from, to, Bitboards.NO_PIECE, captured, color);
+        }
+        return count;
     }
 
     private Colors getPieceColor(Board board, Position pos) {
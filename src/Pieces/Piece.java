@@ -29,8 +29,8 @@ public abstract class Piece implements ChessPiece {
     }
 
     @Override
-    public boolean checkForCheck(Board board, Position kingPosition) {
-        return moveStrategy.canCheckKing(board, position, kingPosition);
+    public int generateMoves(Board board, int[] moves, int count) {
+        return moveStrategy.generateMoves(board, position.getIndex(), moves, count);
     }
 
     protected boolean isValidPosition(char x, int y) {
@@ -0,0 +1,57 @@
+import java.util.List;
+
+final class SliderMoves {
+    private SliderMoves() {
+    }
+
+    static void addMoves(Board board, Position currentPos, int[][] directions, List<Position> moves) {
+        Piece piece = board.getPieceAt(currentPos);
+        Colors color = piece != null ? piece.getColor() : null;
+        int x = currentPos.getX() - 'A';
+        int y = currentPos.getY() - 1;
+        for (int i = 0; i < directions.length; i++) {
+            for (int step = 1; step <= 7; step++) {
+                int newX = x + directions[i][0] * step;
+                int newY = y + directions[i][1] * step;
+                if (newX < 0 || newX >= 8 || newY < 0 || newY >= 8) break;
+                Position newPos = Position.of(newY * 8 + newX);
+                Piece target = board.getPieceAt(newPos);
+                if (target == null) {
+                    moves.add(newPos);
+                } else {
+                    if (target.getColor() != color) {
+                        moves.add(newPos);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    static int generateMoves(Board board, int from, int[][] directions, int[] moves, int count) {
+        Piece piece = board.getPieceAt(from);
+        if (piece == null) return count;
+        int color = Bitboards.colorIndex(piece.getColor());
+        int x = from & 7;
+        int y = from >>> 3;
+        for (int i = 0; i < directions.length; i++) {
+            for (int step = 1; step <= 7; step++) {
+                int newX = x + directions[i][0] * step;
+                int newY = y + directions[i][1] * step;
+                if (newX < 0 || newX >= 8 || newY < 0 || newY >= 8) break;
+                int to = newY * 8 + newX;
+                Piece target = board.getPieceAt(to);
+                if (target == null) {
+                    moves[count++] = MoveEncoding.encode(from, to, Bitboards.NO_PIECE, Bitboards.NO_PIECE, color);
+                } else {
+                    if (target.getColor() != piece.getColor()) {
+                        moves[count++] = MoveEncoding.encode(from, to, Bitboards.NO_PIECE,
+                                Bitboards.typeIndex(target.getType()), color);
+                    }
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+}